@@ -0,0 +1,346 @@
+package frc.team7170.comm.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+
+/**
+ * Annotation processor which generates a frc.team7170.comm.CommTable for each concrete Communicator class at compile
+ * time, so that Communication doesn't have to find and check the communicating methods with reflection on the robot.
+ *
+ * The table for a class registers every method annotated with Transmitter, Receiver, or RPCCaller in the class and its
+ * superclasses (methods overridden without the annotation are not registered), using plain method references. The
+ * rules that Communication used to enforce with RuntimeExceptions at robot initialization are compile errors here:
+ *      each communicating method must be public, non-static, return void, and accept exactly one parameter of the
+ *          right type (TelemetryEntry, EntryNotification, or RpcAnswer respectively);
+ *      each method may only have one of the three annotations;
+ *      a transmitter or RPC key may only be declared by one method, except that several static transmitters may share
+ *          a key (as the keymaps do).
+ * Annotated methods in classes that aren't Communicators are never registered, so they get a warning.
+ *
+ * This processor only depends on the JDK; the annotations and robot classes are referred to by name.
+ */
+public class CommProcessor extends AbstractProcessor {
+
+    private static final String PKG = "frc.team7170.comm";
+    private static final String COMMUNICATOR = PKG + ".Communicator";
+    private static final String TRANSMITTER = PKG + ".Transmitter";
+    private static final String RECEIVER = PKG + ".Receiver";
+    private static final String RPCCALLER = PKG + ".RPCCaller";
+
+    /**
+     * Expected parameter type of each kind of communicating method.
+     */
+    private static final Map<String, String> PARAM_TYPES = new HashMap<>();
+    static {
+        PARAM_TYPES.put(TRANSMITTER, PKG + ".TelemetryEntry");
+        PARAM_TYPES.put(RECEIVER, "edu.wpi.first.networktables.EntryNotification");
+        PARAM_TYPES.put(RPCCALLER, "edu.wpi.first.networktables.RpcAnswer");
+    }
+
+    /**
+     * Transmitter and RPC keys seen so far (prefixed to tell them apart), mapped to the one method allowed to declare
+     * them. Keys of static transmitters, which may be shared, are kept in static_keys instead. Kept across rounds.
+     */
+    private final Map<String, ExecutableElement> exclusive_keys = new HashMap<>();
+    private final Set<String> static_keys = new HashSet<>();
+    private final Map<ExecutableElement, Boolean> checked = new HashMap<>();  // Result of checking each method so far
+    private final Set<String> generated = new HashSet<>();  // Binary names of the classes tables were generated for
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(TRANSMITTER, RECEIVER, RPCCALLER));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        TypeElement communicator = processingEnv.getElementUtils().getTypeElement(COMMUNICATOR);
+        if (communicator == null) {
+            return false;  // Not compiling the robot code
+        }
+        for (TypeElement type : all_types(round.getRootElements())) {
+            if (type.getKind() != ElementKind.CLASS ||
+                    !processingEnv.getTypeUtils().isAssignable(type.asType(), communicator.asType())) {
+                warn_unregistered(type);
+                continue;
+            }
+            List<ExecutableElement> methods = communicating_methods(type);
+            boolean ok = true;
+            for (ExecutableElement meth : methods) {
+                ok &= check(meth);
+            }
+            if (ok && !type.getModifiers().contains(Modifier.ABSTRACT) && !methods.isEmpty()) {
+                if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                    error(type, "Communicator classes with communicating methods cannot be private.");
+                } else {
+                    generate(type, methods);
+                }
+            }
+        }
+        return false;  // Let the annotations be seen by anyone else who cares
+    }
+
+    /**
+     * @return The given types and all their nested types.
+     */
+    private List<TypeElement> all_types(Collection<? extends Element> roots) {
+        List<TypeElement> types = new ArrayList<>();
+        for (TypeElement type : ElementFilter.typesIn(roots)) {
+            types.add(type);
+            types.addAll(all_types(type.getEnclosedElements()));
+        }
+        return types;
+    }
+
+    /**
+     * @return The communicating methods of the given class, including inherited ones, subclass methods first. A
+     * superclass method that is overridden in a subclass is only included if the overriding method is itself annotated.
+     */
+    private List<ExecutableElement> communicating_methods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        List<ExecutableElement> seen = new ArrayList<>();
+        for (TypeElement t = type; t != null; t = superclass(t)) {
+            for (ExecutableElement meth : ElementFilter.methodsIn(t.getEnclosedElements())) {
+                boolean overridden = false;
+                for (ExecutableElement sub : seen) {
+                    if (processingEnv.getElementUtils().overrides(sub, meth, type)) {
+                        overridden = true;
+                        break;
+                    }
+                }
+                seen.add(meth);
+                if (!overridden && !annotations_of(meth).isEmpty()) {
+                    methods.add(meth);
+                }
+            }
+        }
+        return methods;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror sup = type.getSuperclass();
+        if (sup.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement sup_type = (TypeElement) ((DeclaredType) sup).asElement();
+        return sup_type.getQualifiedName().contentEquals("java.lang.Object") ? null : sup_type;
+    }
+
+    /**
+     * @return The communication annotations on the given method.
+     */
+    private List<AnnotationMirror> annotations_of(ExecutableElement meth) {
+        List<AnnotationMirror> annos = new ArrayList<>();
+        for (AnnotationMirror anno : meth.getAnnotationMirrors()) {
+            if (PARAM_TYPES.containsKey(name_of(anno))) {
+                annos.add(anno);
+            }
+        }
+        return annos;
+    }
+
+    private static String name_of(AnnotationMirror anno) {
+        return ((TypeElement) anno.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * Check the signature and keys of a communicating method (once, even if it's inherited by many classes).
+     * @return Whether the method is fine.
+     */
+    private boolean check(ExecutableElement meth) {
+        Boolean result = checked.get(meth);
+        if (result == null) {
+            result = check_once(meth);
+            checked.put(meth, result);
+        }
+        return result;
+    }
+
+    private boolean check_once(ExecutableElement meth) {
+        List<AnnotationMirror> annos = annotations_of(meth);
+        if (annos.size() > 1) {
+            error(meth, "Method in communicator declared as transmitter AND/OR receiver AND/OR rpc caller.");
+            return false;
+        }
+        boolean ok = true;
+        AnnotationMirror anno = annos.get(0);
+        String kind = name_of(anno);
+        String simple_kind = kind.substring(PKG.length() + 1);
+        if (!meth.getModifiers().contains(Modifier.PUBLIC) || meth.getModifiers().contains(Modifier.STATIC)) {
+            error(meth, simple_kind + " methods must be public and not static.");
+            ok = false;
+        }
+        if (meth.getReturnType().getKind() != TypeKind.VOID ||
+                meth.getParameters().size() != 1 ||
+                !processingEnv.getTypeUtils().erasure(meth.getParameters().get(0).asType()).toString().equals(PARAM_TYPES.get(kind))) {
+            error(meth, simple_kind + " methods must return void and accept one " + PARAM_TYPES.get(kind) + " parameter.");
+            ok = false;
+        }
+        if (kind.equals(RECEIVER)) {
+            return ok;  // Any number of receivers may listen for the same key
+        }
+        boolean is_static = kind.equals(TRANSMITTER) && "STATIC".equals(enum_value(anno, "poll_rate"));
+        for (String key : keys(anno)) {
+            String id = (kind.equals(RPCCALLER) ? "R:" : "O:") + key;
+            if (is_static && !exclusive_keys.containsKey(id)) {
+                static_keys.add(id);
+                continue;
+            }
+            ExecutableElement prev = exclusive_keys.get(id);
+            if (prev != null || static_keys.contains(id)) {
+                error(meth, "Multiple transmitters/rpc callers registered for key \"" + key + "\"" +
+                        (prev != null ? " (also declared by " + prev.getEnclosingElement() + "." + prev.getSimpleName() + ")." : "."));
+                ok = false;
+            } else {
+                exclusive_keys.put(id, meth);
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Warn about communicating methods declared in a class that will never be registered.
+     */
+    private void warn_unregistered(TypeElement type) {
+        for (ExecutableElement meth : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!annotations_of(meth).isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Communicating method in a class that does not implement Communicator; it will never be registered.", meth);
+            }
+        }
+    }
+
+    private void generate(TypeElement type, List<ExecutableElement> methods) {
+        String binary_name = processingEnv.getElementUtils().getBinaryName(type).toString();
+        if (!generated.add(binary_name)) {
+            return;
+        }
+        // Must match frc.team7170.comm.CommTable#table_name(String)
+        String table_name = binary_name.replace('$', '_') + "CommTable";
+        String pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simple_name = table_name.substring(pkg.isEmpty() ? 0 : pkg.length() + 1);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(table_name, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if (!pkg.isEmpty()) {
+                    out.println("package " + pkg + ";");
+                    out.println();
+                }
+                out.println();
+                out.println("/**");
+                out.println(" * Generated by " + CommProcessor.class.getName() + " from {@link " + type.getQualifiedName() + "}; do not edit.");
+                out.println(" */");
+                out.println("public final class " + simple_name + " implements " + PKG + ".CommTable {");
+                out.println();
+                out.println("    @Override");
+                out.println("    public void register(" + COMMUNICATOR + " communicator, " + PKG + ".CommTable.Registry registry) {");
+                out.println("        " + type.getQualifiedName() + " c = (" + type.getQualifiedName() + ") communicator;");
+                for (ExecutableElement meth : methods) {
+                    AnnotationMirror anno = annotations_of(meth).get(0);
+                    String ref = "c::" + meth.getSimpleName();
+                    for (String key : keys(anno)) {
+                        switch (name_of(anno)) {
+                            case TRANSMITTER:
+                                out.println("        registry.transmitter(" + quote(key) + ", " + PKG + ".TransmitFrequency." +
+                                        enum_value(anno, "poll_rate") + ", " + int_value(anno, "poll_rate_ms") + ", " +
+                                        int_value(anno, "min_poll_rate_ms") + ", " + double_value(anno, "deadband") + ", " +
+                                        ref + ");");
+                                break;
+                            case RECEIVER:
+                                out.println("        registry.receiver(" + quote(key) + ", " + ref + ");");
+                                break;
+                            case RPCCALLER:
+                                out.println("        registry.rpc_caller(" + quote(key) + ", " + ref + ");");
+                                break;
+                        }
+                    }
+                }
+                out.println("    }");
+                out.println("}");
+            }
+        } catch (IOException e) {
+            error(type, "Could not write " + table_name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The value of the given attribute of the annotation, taking defaults into account.
+     */
+    private Object value(AnnotationMirror anno, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(anno).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private List<String> keys(AnnotationMirror anno) {
+        List<String> keys = new ArrayList<>();
+        Object value = value(anno, "value");
+        if (value instanceof List) {
+            for (Object elem : (List<?>) value) {
+                keys.add((String) ((AnnotationValue) elem).getValue());
+            }
+        } else if (value instanceof String) {
+            keys.add((String) value);
+        }
+        return keys;
+    }
+
+    private String enum_value(AnnotationMirror anno, String attribute) {
+        Object value = value(anno, attribute);
+        return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : null;
+    }
+
+    private int int_value(AnnotationMirror anno, String attribute) {
+        Object value = value(anno, attribute);
+        return value instanceof Integer ? (Integer) value : -1;
+    }
+
+    /**
+     * @return The value of the given double attribute of the annotation as a Java source literal.
+     */
+    private String double_value(AnnotationMirror anno, String attribute) {
+        Object value = value(anno, attribute);
+        double d = value instanceof Double ? (Double) value : 0;
+        if (Double.isNaN(d)) {
+            return "Double.NaN";
+        } else if (Double.isInfinite(d)) {
+            return d > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return Double.toString(d);
+    }
+
+    private static String quote(String str) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : str.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private void error(Element element, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, element);
+    }
+}
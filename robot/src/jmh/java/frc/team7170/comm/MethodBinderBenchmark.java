@@ -0,0 +1,67 @@
+package frc.team7170.comm;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Compares calling a communicating method through {@link Method#invoke(Object, Object...)}, as {@link Communication}
+ * used to on every transmit/receive/RPC, with calling the {@link Consumer} it now binds once with {@link MethodBinder}.
+ * A direct call is included as the lower bound.
+ *
+ * Run with: gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodBinderBenchmark {
+
+    /**
+     * Stands in for a module with a transmitter; the argument stands in for the entry.
+     */
+    public static class TestCommunicator implements Communicator {
+
+        private long sum = 0;
+
+        @SuppressWarnings("unused")
+        public void transmitter(Long value) {
+            sum += value;
+        }
+    }
+
+    private TestCommunicator communicator;
+    private Method meth;
+    private Consumer<Long> bound;
+    private Long arg;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        communicator = new TestCommunicator();
+        meth = TestCommunicator.class.getMethod("transmitter", Long.class);
+        bound = MethodBinder.bind(communicator, meth, Long.class);
+        arg = 7170L;
+    }
+
+    @Benchmark
+    public long reflective() throws ReflectiveOperationException {
+        meth.invoke(communicator, arg);  // A failure aborts the run rather than timing the exception path
+        return communicator.sum;
+    }
+
+    @Benchmark
+    public long bound() {
+        bound.accept(arg);
+        return communicator.sum;
+    }
+
+    @Benchmark
+    public long direct() {
+        communicator.transmitter(arg);
+        return communicator.sum;
+    }
+}
@@ -0,0 +1,45 @@
+package frc.team7170.comm;
+
+import edu.wpi.first.networktables.EntryNotification;
+import edu.wpi.first.networktables.RpcAnswer;
+import java.util.function.Consumer;
+
+
+/**
+ * Static registration table for one {@link Communicator} class, generated at compile time by the annotation processor
+ * in the processor subproject (frc.team7170.comm.processor.CommProcessor). The generated class is named after the
+ * communicator class (see table_name(String)) and registers each of the communicator's {@link Transmitter},
+ * {@link Receiver}, and {@link RPCCaller} methods, including inherited ones, with plain method references; hence
+ * {@link Communication} doesn't need to use reflection on the communicator at all.
+ *
+ * This should never be implemented by hand.
+ */
+public interface CommTable {
+
+    /**
+     * Register every communicating method of the given communicator.
+     * @param communicator The communicator; always an instance of the class this table was generated for.
+     * @param registry Where to register the methods.
+     */
+    void register(Communicator communicator, Registry registry);
+
+    /**
+     * Receives the registrations of a {@link CommTable}; implemented by {@link Communication}.
+     */
+    interface Registry {
+        void transmitter(String key, TransmitFrequency poll_rate, int poll_rate_ms, int min_poll_rate_ms,
+                         double deadband, Consumer<TelemetryEntry> transmitter);
+        void receiver(String key, Consumer<EntryNotification> receiver);
+        void rpc_caller(String key, Consumer<RpcAnswer> rpc_caller);
+    }
+
+    /**
+     * @param binary_name The binary name of a communicator class (e.g. "frc.team7170.robot.Robot" or
+     *                    "frc.team7170.Outer$Inner").
+     * @return The binary name of the table generated for that class (e.g. "frc.team7170.robot.RobotCommTable" or
+     * "frc.team7170.Outer_InnerCommTable").
+     */
+    static String table_name(String binary_name) {
+        return binary_name.replace('$', '_') + "CommTable";
+    }
+}
@@ -4,12 +4,15 @@ import edu.wpi.first.networktables.*;
 import frc.team7170.jobs.Dispatcher;
 import frc.team7170.jobs.Module;
 import frc.team7170.robot.RobotMap;
-import frc.team7170.util.TimedTask;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 
@@ -31,12 +34,18 @@ import java.util.logging.Logger;
  * main loop and {@link TransmitFrequency#STATIC} makes a given transmitter update only once (on robot initialization).
  * The other field, {@link Transmitter#poll_rate_ms()}, allows the user to specify a certain integer delay in
  * milliseconds, which will always override {@link Transmitter#poll_rate()} if it is specified to be some integer
- * greater than 0. It is recommended to use the slowest appropriate speed to minimize bandwidth usage. Each transmitter
- * must accept one {@link NetworkTableEntry} parameter and return void. Failure to conform to this signature will result
+ * greater than 0. It is recommended to use the slowest appropriate speed to minimize bandwidth usage. These rates are
+ * only the defaults, however: the dashboard chooses which keys are sent with the "I_SEND_THESE" string array entry,
+ * and each key in it may be followed by "@" and a delay in milliseconds (e.g. "O_GYRO_T@500") to poll that key at a
+ * different rate. The "I_TELEMETRY_RATE_SCALE" entry multiplies the delay of every key at once (e.g. 2 halves all
+ * telemetry when bandwidth is tight). Neither can make a key faster than its {@link Transmitter#min_poll_rate_ms()}.
+ * The new rates are applied by rescheduling each transmitter, without registering anything again. Each transmitter
+ * must accept one {@link TelemetryEntry} parameter and return void. Failure to conform to this signature will result
  * in an exception during robot initialization. During each update cycle, the transmitting method is expected to mutate
- * the passed entry appropriately. If the transmitting method in question mutates more than one entry, then it is
- * recommended that {@link NetworkTableEntry#getName()} be used to determine the entry's key and then operate
- * accordingly. Note that a specific naming system for each entry's key exists:
+ * the passed entry appropriately; writes that wouldn't change the value on the network (within
+ * {@link Transmitter#deadband()} for doubles) are dropped by the {@link TelemetryEntry}. If the transmitting method in
+ * question mutates more than one entry, then it is recommended that {@link TelemetryEntry#getName()} be used to
+ * determine the entry's key and then operate accordingly. Note that a specific naming system for each entry's key exists:
  *      an "O_..." prefix specifies a one-way robot-to-dashboard entry;
  *      an "I_..." prefix specifies a one-way dashboard-to-robot entry;
  *      an "R_..." prefix specifies a remote procedure call (RPC) entry;
@@ -61,7 +70,9 @@ import java.util.logging.Logger;
  * whenever a entry from the dashboard (prefixed with "I_...") is updated. Also, receivers are expected to accept one
  * {@link EntryNotification} parameter and return void, lest a {@link RuntimeException} will be thrown during robot
  * initialization. {@link EntryNotification#name} can be used to identify which entry an event refers to if the
- * receiver receives multiple entry keys.
+ * receiver receives multiple entry keys. Receivers are called on the main loop (at the start of robotPeriodic()) rather
+ * than on the Network Tables listener thread, and only with the latest update of each key since the last iteration;
+ * see {@link ReceiverMailbox}.
  *
  * Any methods of a subscribed module that are remote procedure call (RPC) methods must be annotated with
  * {@link RPCCaller}. This accepts a list of strings, each corresponding to a {@link NetworkTableEntry} key to be
@@ -74,8 +85,8 @@ import java.util.logging.Logger;
  *
  * As a side note, consider annotating each transmitter, receiver, or RPC method with {@link SuppressWarnings} and
  * "unused" because the method should not be called without reflection. That is, {@code @SuppressWarnings("unused")}.
- * Also, all transmitter, receiver, or RPC methods must be public in order for {@link Method#invoke(Object, Object...)}
- * to not fail.
+ * Also, all transmitter, receiver, or RPC methods must be public as each one is bound (once, during registration) into
+ * a {@link Consumer} with {@link LambdaMetafactory}.
  *
  * @see TransmitFrequency
  * @see Transmitter
@@ -96,31 +107,73 @@ public class Communication extends Module implements Communicator {
 
         // Setup listener for sender whitelist from dashboard
         nt_inst.getTable(Tables.IN.get()).getEntry(rectify_key(RobotMap.Communication.DB_to_send_key, "I", "")).addListener((event) -> {
-            senders.clear();
             try {
-                senders.addAll(Arrays.asList(event.value.getStringArray()));
+                set_senders(event.value.getStringArray());
             } catch (ClassCastException e) {
                 LOGGER.severe("DB senders list entry updated but it is not a string array!");
                 e.printStackTrace();
             }
         }, EntryListenerFlags.kUpdate);
+        nt_inst.getTable(Tables.IN.get()).getEntry(rectify_key(RobotMap.Communication.DB_rate_scale_key, "I", "")).addListener((event) -> {
+            try {
+                set_rate_scale(event.value.getDouble());
+            } catch (ClassCastException e) {
+                LOGGER.severe("DB telemetry rate scale entry updated but it is not a double!");
+                e.printStackTrace();
+            }
+        }, EntryListenerFlags.kUpdate);
 
         Dispatcher.get_instance().register_module(this);
+        set_critical(false);  // Telemetry can wait a tick if the loop is overrunning
+        set_time_budget_us(RobotMap.Loop.comm_budget_us);
         register_comm();
     }
 
     private NetworkTableInstance nt_inst = NetworkTableInstance.getDefault();
+    private NetworkTable out_table = nt_inst.getTable(Tables.OUT.get());
     /**
      * This maps each entry key to the {@link Runnable} transmitter that it corresponds to, or null if the transmitter's
      * poll rate is {@link TransmitFrequency#STATIC} or the method is a {@link RPCCaller}.
      */
     private HashMap<String, Runnable> transmitters = new HashMap<>();
     /**
-     * This set contains the keys of all entries to send over to the dashboard and is updated by the dashboard whenever
-     * a key is to be stopped being sent or when a new key is to start being sent. I.e this is a whitelist for which
-     * keys to actually update and send to the dashboard.
+     * Schedules the polling of each non-static transmitter; advanced once per update.
+     */
+    private final TransmitWheel wheel = new TransmitWheel();
+    /**
+     * Whether each transmitter's task in the wheel (by id) is to be polled and sent over to the dashboard. I.e. this is
+     * the whitelist for which keys to actually update and send, which the dashboard updates whenever a key is to be
+     * stopped being sent or when a new key is to start being sent. The dashboard's update arrives on the Network Tables
+     * listener thread, so a new array is built there and swapped in; an array is never modified once assigned here, so
+     * the main loop can read it without locking.
+     */
+    private volatile boolean[] senders = new boolean[0];
+    /**
+     * The period in ticks that each transmitter's task in the wheel (by id) should have, built along with senders. The
+     * main loop reschedules the tasks whenever a new array is assigned.
+     */
+    private volatile int[] periods = new int[0];
+    private int[] applied_periods = periods;  // Only touched by the main loop
+    private String[] sender_keys = new String[0];  // Keys last whitelisted by the dashboard, possibly with "@ms"
+    private double rate_scale = 1;  // Last set by the dashboard
+    private final Object senders_lock = new Object();  // Guards rebuilding senders and periods (from either thread)
+    /**
+     * The wheel task of each non-static transmitter, by key. Written on registration and read when rebuilding senders.
+     */
+    private final ConcurrentHashMap<String, TransmitWheel.Task> tasks = new ConcurrentHashMap<>();
+    /**
+     * If asynchronous publishing is enabled, the publisher that all writes by transmitters (other than static ones) are
+     * handed to at the end of each update.
+     */
+    private final TelemetryPublisher publisher =
+            RobotMap.Communication.async_publish ? new TelemetryPublisher() : null;
+    /**
+     * If packed telemetry is enabled, the frame which the values of {@link TransmitFrequency#FAST} and
+     * {@link TransmitFrequency#VOLATILE} keys are written to and which is published at the end of each update.
      */
-    private HashSet<String> senders = new HashSet<>();
+    private final TelemetryFrame frame = RobotMap.Communication.packed_telemetry ? new TelemetryFrame(
+            out_table.getEntry(RobotMap.Communication.DB_telemetry_frame),
+            out_table.getEntry(RobotMap.Communication.DB_telemetry_schema), publisher) : null;
 
     /**
      * Enum of all (sub)table paths for convenience ease of modification.
@@ -142,12 +195,80 @@ public class Communication extends Module implements Communicator {
 
     @Override
     protected void update() {
-        for (String key : senders) {
-            Runnable r = transmitters.get(key);
-            if (r != null) {  // We map null to a key for static or rpc transmitters, hence we must null check
-                r.run();
+        int[] p = periods;
+        if (p != applied_periods) {
+            applied_periods = p;
+            for (int id = 0; id < p.length; id++) {
+                wheel.set_period(id, p[id]);
             }
         }
+        wheel.advance(senders);
+        if (frame != null) {
+            frame.publish();
+        }
+        if (publisher != null) {
+            publisher.commit();
+        }
+    }
+
+    /**
+     * Replace the whitelist of keys to send, along with the rate of each.
+     * @param keys The keys to send, each optionally followed by "@" and the delay in milliseconds to poll it at, or
+     *             null to rebuild the whitelist from the current keys (e.g. after a transmitter has been registered).
+     */
+    private void set_senders(String[] keys) {
+        synchronized (senders_lock) {
+            if (keys != null) {
+                sender_keys = keys;
+            }
+            int size = tasks.size();
+            boolean[] new_senders = new boolean[size];
+            int[] requested_ms = new int[size];
+            for (String entry : sender_keys) {
+                String key = entry;
+                int ms = -1;
+                int at = entry.lastIndexOf('@');
+                if (at >= 0) {
+                    key = entry.substring(0, at);
+                    try {
+                        ms = Integer.parseInt(entry.substring(at + 1));
+                    } catch (NumberFormatException e) {
+                        LOGGER.warning("Invalid rate requested by DB for " + key + "; using its default rate.");
+                    }
+                }
+                TransmitWheel.Task task = tasks.get(key);
+                if (task != null && task.get_id() < size) {
+                    new_senders[task.get_id()] = true;
+                    requested_ms[task.get_id()] = ms;
+                }
+            }
+            int[] new_periods = new int[size];
+            for (TransmitWheel.Task task : tasks.values()) {
+                int id = task.get_id();
+                if (id < size) {
+                    int base = requested_ms[id] > 0 ? ms_to_ticks(requested_ms[id]) : task.default_period;
+                    new_periods[id] = Math.max(task.min_period, (int) Math.min(Integer.MAX_VALUE,
+                            Math.round(base * rate_scale)));
+                }
+            }
+            periods = new_periods;  // Before senders, so a newly enabled key is never polled at its old rate
+            senders = new_senders;
+        }
+    }
+
+    /**
+     * Scale the delay of every transmitter (e.g. 2 to halve all telemetry), still clamped to the minimum of each.
+     * @param scale The factor; must be greater than zero.
+     */
+    private void set_rate_scale(double scale) {
+        if (!(scale > 0) || Double.isInfinite(scale)) {
+            LOGGER.warning("Invalid telemetry rate scale requested by DB: " + scale + ".");
+            return;
+        }
+        synchronized (senders_lock) {
+            rate_scale = scale;
+            set_senders(null);
+        }
     }
 
     @Override
@@ -169,14 +290,114 @@ public class Communication extends Module implements Communicator {
         return nt_inst;
     }
 
+    /**
+     * Keys of {@link TransmitFrequency#STATIC} transmitters. Unlike other keys, several static transmitters may share a
+     * key (e.g. each {@link frc.team7170.control.keymaps.KeyMap} appends itself to the same entry).
+     */
+    private HashSet<String> static_keys = new HashSet<>();
+
+    /**
+     * Used by the generated {@link CommTable}s to register each communicating method.
+     */
+    private final CommTable.Registry registry = new CommTable.Registry() {
+        @Override
+        public void transmitter(String key, TransmitFrequency poll_rate, int poll_rate_ms, int min_poll_rate_ms,
+                                double deadband, Consumer<TelemetryEntry> transmitter) {
+            add_transmitter(key, poll_rate, poll_rate_ms, min_poll_rate_ms, deadband, transmitter);
+        }
+
+        @Override
+        public void receiver(String key, Consumer<EntryNotification> receiver) {
+            add_receiver(key, receiver);
+        }
+
+        @Override
+        public void rpc_caller(String key, Consumer<RpcAnswer> rpc_caller) {
+            add_rpc_caller(key, rpc_caller);
+        }
+    };
+
     /**
      * This method is can be called from {@link Communicator#register_comm()} (preferable) or manually to register
-     * a module as containing {@link Transmitter}, {@link Receiver}, or {@link RPCCaller} method. This allows this
-     * method to search the {@link Communicator} for these annotated methods using reflection and handle them
-     * appropriately.
+     * a module as containing {@link Transmitter}, {@link Receiver}, or {@link RPCCaller} method.
+     *
+     * Normally, the annotation processor in the processor subproject generates a {@link CommTable} for each communicator
+     * class at compile time (also checking the signatures and keys of its annotated methods, including inherited ones),
+     * and registering is just a matter of running that table. If there is no generated table (e.g. the code was built
+     * without the processor), this falls back to searching the {@link Communicator}'s declared methods for the
+     * annotations using reflection.
      * @param communicator The {@link Communicator} to register.
      */
     public void register_communicator(Communicator communicator) {
+        CommTable table = find_comm_table(communicator.getClass());
+        if (table != null) {
+            table.register(communicator, registry);
+        } else {
+            LOGGER.fine("No generated comm table for "+communicator.getClass().getSimpleName()+"; using reflection.");
+            register_communicator_reflective(communicator);
+        }
+        communicator.register_telemetry(this);
+    }
+
+    /**
+     * Register a transmitter for one key which sends the value of the given supplier. Unlike an annotated
+     * {@link Transmitter}, which is called once per key and has to work out which key it was called for, the supplier is
+     * bound directly to its key, so nothing needs to be looked up or compared when it's polled. Usually called from
+     * {@link Communicator#register_telemetry(Communication)}.
+     * @param key The entry key (rectified here).
+     * @param poll_rate See {@link Transmitter#poll_rate()}.
+     * @param deadband See {@link Transmitter#deadband()}.
+     * @param supplier Supplies the value to send.
+     */
+    public void publish_double(String key, TransmitFrequency poll_rate, double deadband, DoubleSupplier supplier) {
+        add_transmitter(key, poll_rate, -1, -1, deadband, (entry) -> entry.setDouble(supplier.getAsDouble()));
+    }
+
+    /**
+     * See {@link Communication#publish_double(String, TransmitFrequency, double, DoubleSupplier)}; sends every change.
+     */
+    public void publish_double(String key, TransmitFrequency poll_rate, DoubleSupplier supplier) {
+        publish_double(key, poll_rate, 0, supplier);
+    }
+
+    /**
+     * See {@link Communication#publish_double(String, TransmitFrequency, double, DoubleSupplier)}.
+     */
+    public void publish_boolean(String key, TransmitFrequency poll_rate, BooleanSupplier supplier) {
+        add_transmitter(key, poll_rate, -1, -1, 0, (entry) -> entry.setBoolean(supplier.getAsBoolean()));
+    }
+
+    /**
+     * See {@link Communication#publish_double(String, TransmitFrequency, double, DoubleSupplier)}.
+     */
+    public void publish_string(String key, TransmitFrequency poll_rate, Supplier<String> supplier) {
+        add_transmitter(key, poll_rate, -1, -1, 0, (entry) -> entry.setString(supplier.get()));
+    }
+
+    /**
+     * See {@link Communication#publish_double(String, TransmitFrequency, double, DoubleSupplier)}. Note that the
+     * supplier must return a new array each time (see {@link TelemetryEntry#setStringArray(String[])}).
+     */
+    public void publish_string_array(String key, TransmitFrequency poll_rate, Supplier<String[]> supplier) {
+        add_transmitter(key, poll_rate, -1, -1, 0, (entry) -> entry.setStringArray(supplier.get()));
+    }
+
+    /**
+     * @param cls The communicator class.
+     * @return An instance of the {@link CommTable} generated for the given class, or null if there is none.
+     */
+    private static CommTable find_comm_table(Class<?> cls) {
+        try {
+            Class<?> table_cls = Class.forName(CommTable.table_name(cls.getName()), true, cls.getClassLoader());
+            return (CommTable) table_cls.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not instantiate generated comm table for "+cls.getName()+".");
+        }
+    }
+
+    private void register_communicator_reflective(Communicator communicator) {
         // Loop through the communicator's methods
         for (Method meth : communicator.getClass().getDeclaredMethods()) {
             // Attempt to identify each type of the annotations
@@ -194,56 +415,13 @@ public class Communication extends Module implements Communicator {
                 // Check the signature of the method and throw an exception if it isn't correct
                 if (meth.getReturnType() != void.class ||
                         meth.getParameterCount() != 1 ||
-                        meth.getParameterTypes()[0] != NetworkTableEntry.class) {
+                        meth.getParameterTypes()[0] != TelemetryEntry.class) {
                     throw new RuntimeException("Transmitter method in communicator does not feature proper signature.");
                 }
-                // Special cases for when the transmitter's poll rate is static or volatile
-                if (transmitter.poll_rate() == TransmitFrequency.STATIC) {
-                    for (String key : transmitter.value()) {
-                        key = rectify_key(key, "O", "S");
-                        if (transmitters.containsKey(key)) {
-                            // Throw an exception if a transmitter for this key has already been mapped
-                            throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
-                        }
-                        transmitters.put(key, null);  // Populate map to indicate that a transmitter with this key exists
-                        try {
-                            meth.invoke(communicator, nt_inst.getTable(Tables.OUT.get()).getEntry(key));
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    }
-                } else if (transmitter.poll_rate() == TransmitFrequency.VOLATILE) {
-                    for (String key : transmitter.value()) {
-                        final String k = rectify_key(key, "O", "V");  // Make key final for use in lambda
-                        if (transmitters.containsKey(k)) {
-                            // Throw an exception if a transmitter for this key has already been mapped
-                            throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
-                        }
-                        // Map a Runnable in transmitters without any delay for a volatile poll rate
-                        transmitters.put(k, () -> {
-                            try {
-                                meth.invoke(communicator, nt_inst.getTable(Tables.OUT.get()).getEntry(k));
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
-                        });
-                    }
-                } else {  // One of specific delays in milliseconds
-                    for (String key : transmitter.value()) {
-                        final String k = rectify_key(key, "O", "T");  // Make key final for use in lambda
-                        if (transmitters.containsKey(k)) {
-                            // Throw an exception if a transmitter for this key has already been mapped
-                            throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
-                        }
-                        // Map a Runnable in transmitters with a delay for a non-volatile poll rate
-                        transmitters.put(k, new TimedTask(() -> {
-                            try {
-                                meth.invoke(communicator, nt_inst.getTable(Tables.OUT.get()).getEntry(k));
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
-                        }, transmitter.poll_rate_ms() > 0 ? transmitter.poll_rate().freq : transmitter.poll_rate_ms()));
-                    }
+                Consumer<TelemetryEntry> tx = MethodBinder.bind(communicator, meth, TelemetryEntry.class);
+                for (String key : transmitter.value()) {
+                    add_transmitter(key, transmitter.poll_rate(), transmitter.poll_rate_ms(),
+                            transmitter.min_poll_rate_ms(), transmitter.deadband(), tx);
                 }
             }
 
@@ -260,16 +438,9 @@ public class Communication extends Module implements Communicator {
                         meth.getParameterTypes()[0] != EntryNotification.class) {
                     throw new RuntimeException("Receiver method in communicator does not feature proper signature.");
                 }
+                Consumer<EntryNotification> rx = MethodBinder.bind(communicator, meth, EntryNotification.class);
                 for (String key : receiver.value()) {
-                    key = rectify_key(key, "I", "");
-                    // Add a listener to the entry key which invokes the method whenever the entry is remotely updated
-                    nt_inst.getTable(Tables.IN.get()).getEntry(key).addListener((event) -> {
-                        try {
-                            meth.invoke(communicator, event);
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    }, EntryListenerFlags.kUpdate);
+                    add_receiver(key, rx);
                 }
             }
 
@@ -285,26 +456,143 @@ public class Communication extends Module implements Communicator {
                         meth.getParameterTypes()[0] != RpcAnswer.class) {
                     throw new RuntimeException("RPCCaller method in communicator does not feature proper signature.");
                 }
+                Consumer<RpcAnswer> rpc = MethodBinder.bind(communicator, meth, RpcAnswer.class);
                 for (String key : rpccaller.value()) {
-                    key = rectify_key(key, "R", "");
-                    if (transmitters.containsKey(key)) {
-                        // Throw an error if a transmitter for this key has already been mapped
-                        throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
-                    }
-                    transmitters.put(key, null);  // Populate map to indicate that a transmitter with this key exists
-                    // Create an RPC on the Network Tables instance for the entry key which invokes the method
-                    nt_inst.createRpc(nt_inst.getTable(Tables.OUT.get()).getEntry(key), (rpca) -> {
-                        try {
-                            meth.invoke(communicator, rpca);
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    });
+                    add_rpc_caller(key, rpc);
                 }
             }
         }
     }
 
+    /**
+     * Register a transmitter for one key.
+     * @param key The entry key (rectified here).
+     * @param poll_rate See {@link Transmitter#poll_rate()}.
+     * @param poll_rate_ms See {@link Transmitter#poll_rate_ms()}.
+     * @param min_poll_rate_ms See {@link Transmitter#min_poll_rate_ms()}.
+     * @param deadband See {@link Transmitter#deadband()}.
+     * @param tx The transmitting method bound to its communicator.
+     */
+    private void add_transmitter(String key, TransmitFrequency poll_rate, int poll_rate_ms, int min_poll_rate_ms,
+                                 double deadband, Consumer<TelemetryEntry> tx) {
+        // Special cases for when the transmitter's poll rate is static or volatile
+        if (poll_rate == TransmitFrequency.STATIC) {
+            key = rectify_key(key, "O", "S");
+            if (transmitters.containsKey(key) && !static_keys.contains(key)) {
+                // Throw an exception if a non-static transmitter or rpc caller for this key has already been mapped
+                throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
+            }
+            transmitters.put(key, null);  // Populate map to indicate that a transmitter with this key exists
+            static_keys.add(key);
+            try {
+                // Nothing to compare against for a one-off write
+                tx.accept(new TelemetryEntry(out_table.getEntry(key), 0, 0));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        } else if (poll_rate == TransmitFrequency.VOLATILE) {
+            final String k = rectify_key(key, "O", "V");
+            if (transmitters.containsKey(k)) {
+                // Throw an exception if a transmitter for this key has already been mapped
+                throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
+            }
+            final TelemetryEntry entry = make_entry(k, deadband, true);
+            Runnable r = () -> {
+                try {
+                    tx.accept(entry);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            };
+            transmitters.put(k, r);
+            // Volatile transmitters are polled every update by default
+            add_task(new TransmitWheel.Task(k, r, 1, min_poll_rate_ms > 0 ? ms_to_ticks(min_poll_rate_ms) : 1));
+        } else {  // One of specific delays in milliseconds
+            final String k = rectify_key(key, "O", "T");
+            if (transmitters.containsKey(k)) {
+                // Throw an exception if a transmitter for this key has already been mapped
+                throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
+            }
+            final TelemetryEntry entry = make_entry(k, deadband, poll_rate == TransmitFrequency.FAST && poll_rate_ms <= 0);
+            Runnable r = () -> {
+                try {
+                    tx.accept(entry);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            };
+            transmitters.put(k, r);
+            int period = ms_to_ticks(poll_rate_ms > 0 ? poll_rate_ms : poll_rate.freq);
+            int min_period = min_poll_rate_ms > 0 ? ms_to_ticks(min_poll_rate_ms) : period;
+            add_task(new TransmitWheel.Task(k, r, period, min_period));
+        }
+    }
+
+    /**
+     * Schedule a transmitter's task in the wheel and add it to the whitelist (if the dashboard asked for its key).
+     */
+    private void add_task(TransmitWheel.Task task) {
+        wheel.add(task);
+        tasks.put(task.key, task);
+        set_senders(null);
+    }
+
+    /**
+     * @param ms A period in milliseconds.
+     * @return The nearest whole number of updates of this module to that period (at least 1).
+     */
+    private int ms_to_ticks(int ms) {
+        double update_ms = RobotMap.Loop.period_us * get_update_period() / 1000.0;
+        return (int) Math.max(1, Math.round(ms / update_ms));
+    }
+
+    /**
+     * Make the entry passed to a non-static transmitter, resolving the entry handle once.
+     * @param key The rectified key.
+     * @param deadband See {@link Transmitter#deadband()}.
+     * @param packable Whether the key is polled often enough to go in the {@link TelemetryFrame} (if enabled).
+     */
+    private TelemetryEntry make_entry(String key, double deadband, boolean packable) {
+        NetworkTableEntry entry = out_table.getEntry(key);
+        return new TelemetryEntry(entry, deadband, RobotMap.Communication.telemetry_refresh_ms,
+                packable ? frame : null, publisher);
+    }
+
+    /**
+     * Register a receiver for one key.
+     * @param key The entry key (rectified here).
+     * @param rx The receiving method bound to its communicator.
+     */
+    private void add_receiver(String key, Consumer<EntryNotification> rx) {
+        key = rectify_key(key, "I", "");
+        // Add a listener to the entry key which invokes the method on the main loop whenever the entry is remotely
+        // updated (see ReceiverMailbox)
+        nt_inst.getTable(Tables.IN.get()).getEntry(key).addListener(ReceiverMailbox.get_instance().wrap(key, rx),
+                EntryListenerFlags.kUpdate);
+    }
+
+    /**
+     * Register an RPC caller for one key.
+     * @param key The entry key (rectified here).
+     * @param rpc The RPC method bound to its communicator.
+     */
+    private void add_rpc_caller(String key, Consumer<RpcAnswer> rpc) {
+        key = rectify_key(key, "R", "");
+        if (transmitters.containsKey(key)) {
+            // Throw an error if a transmitter for this key has already been mapped
+            throw new RuntimeException("Multiple transmitters/rpc caller for same key registered.");
+        }
+        transmitters.put(key, null);  // Populate map to indicate that a transmitter with this key exists
+        // Create an RPC on the Network Tables instance for the entry key which invokes the method
+        nt_inst.createRpc(out_table.getEntry(key), (rpca) -> {
+            try {
+                rpc.accept(rpca);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
     /**
      * Fix a key to follow the naming scheme described in this class's docstring.
      * TODO This (rectify_key) doesn't work
@@ -338,16 +626,9 @@ public class Communication extends Module implements Communicator {
         return key.replaceFirst("^R_|^O_|^I_", "").replaceFirst("_[MNR][TVS]\\$", "");
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_COMMUNICATION_ENABLED_RT"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_COMMUNICATION_ENABLED_RT":
-                entry.setBoolean(get_enabled());
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_boolean("O_COMMUNICATION_ENABLED_RT", TransmitFrequency.SLOW, this::get_enabled);
     }
 
     @SuppressWarnings("unused")
@@ -6,10 +6,20 @@ package frc.team7170.comm;
  * {@link Transmitter}, {@link Receiver}, and {@link RPCCaller}). Also contains the convenience default method
  * {@link Communicator#register_comm()} to register the communicator with the {@link Communication} module. It is
  * recommended that this method be called in the constructor of the module in question.
+ *
+ * Telemetry that is just a value can instead be registered by overriding
+ * {@link Communicator#register_telemetry(Communication)} and calling the typed publish methods of {@link Communication}
+ * (e.g. {@link Communication#publish_double(String, TransmitFrequency, java.util.function.DoubleSupplier)}).
  */
 public interface Communicator {
     default void register_comm() {
         // TODO: TEMP -- comm disabled
         //Communication.get_instance().register_communicator(this);
     }
+
+    /**
+     * Called by {@link Communication} when registering the communicator, after its annotated methods.
+     * @param comm The communication module to register telemetry with.
+     */
+    default void register_telemetry(Communication comm) {}
 }
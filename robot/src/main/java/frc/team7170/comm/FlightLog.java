@@ -0,0 +1,150 @@
+package frc.team7170.comm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+
+/**
+ * Reads back the segments written by {@link FlightRecorder} (e.g. after copying the recorder directory off the
+ * roboRIO). Only uses the recorder's layout constants (never the recorder itself or any robot hardware), so it can be
+ * used off the robot.
+ */
+public class FlightLog {
+
+    private final static Logger LOGGER = Logger.getLogger(FlightLog.class.getName());
+
+    /**
+     * One decoded record. See {@link FlightRecorder} for the meaning of each field.
+     */
+    public static class Record {
+
+        public long timestamp_us;
+        public long tick;
+        public final double[] sensors = new double[FlightRecorder.SENSOR_COUNT];  // In the order of SensorFrame's fields
+        public double drive_L;
+        public double drive_R;
+        public double arm;
+        public double endE;
+        public long locked_mask;
+        public int running_jobs;
+        public int flags;
+        public float match_time;
+        public float battery;
+        public final float[][] hid_axes = new float[FlightRecorder.HID_COUNT][FlightRecorder.HID_AXES];
+        public final int[] hid_buttons = new int[FlightRecorder.HID_COUNT];
+        public final int[] hid_pov = new int[FlightRecorder.HID_COUNT];
+
+        public boolean has_flag(int flag) {
+            return (flags & flag) != 0;
+        }
+    }
+
+    private FlightLog() {}
+
+    /**
+     * Read every segment in the given directory, oldest first. Segments that are not flight recorder segments or are of
+     * a different version are skipped with a warning.
+     * @param dir The recorder directory.
+     * @return The records of all the segments, in order.
+     * @throws IOException If a segment could not be read.
+     */
+    public static List<Record> read_dir(File dir) throws IOException {
+        File[] files = dir.listFiles((d, name) -> name.startsWith("flight_") && name.endsWith(".bin"));
+        if (files == null) {
+            throw new IOException("Not a directory: " + dir);
+        }
+        ArrayList<long[]> order = new ArrayList<>();  // {sequence number, index into files}
+        for (int i = 0; i < files.length; i++) {
+            ByteBuffer header = read_header(files[i]);
+            if (header != null) {
+                order.add(new long[] {header.getLong(FlightRecorder.H_SEQ), i});
+            }
+        }
+        order.sort((a, b) -> Long.compare(a[0], b[0]));
+        ArrayList<Record> records = new ArrayList<>();
+        for (long[] seg : order) {
+            records.addAll(read_segment(files[(int) seg[1]]));
+        }
+        return records;
+    }
+
+    /**
+     * @param file A segment file.
+     * @return The records in the segment, or an empty list if it isn't a valid segment.
+     * @throws IOException If the segment could not be read.
+     */
+    public static List<Record> read_segment(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            ByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            if (!valid(buf, file)) {
+                return Collections.emptyList();
+            }
+            int count = Math.min(buf.getInt(FlightRecorder.H_COUNT), buf.getInt(FlightRecorder.H_CAPACITY));
+            ArrayList<Record> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(decode(buf, FlightRecorder.HEADER_BYTES + i * FlightRecorder.RECORD_BYTES));
+            }
+            return records;
+        }
+    }
+
+    private static ByteBuffer read_header(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.length() < FlightRecorder.HEADER_BYTES) {
+                LOGGER.warning("Skipping " + file + ": too short.");
+                return null;
+            }
+            byte[] bytes = new byte[FlightRecorder.HEADER_BYTES];
+            raf.readFully(bytes);
+            ByteBuffer header = ByteBuffer.wrap(bytes);
+            return valid(header, file) ? header : null;
+        }
+    }
+
+    private static boolean valid(ByteBuffer buf, File file) {
+        if (buf.capacity() < FlightRecorder.HEADER_BYTES || buf.getLong(FlightRecorder.H_MAGIC) != FlightRecorder.MAGIC) {
+            LOGGER.warning("Skipping " + file + ": not a flight recorder segment.");
+            return false;
+        }
+        if (buf.getInt(FlightRecorder.H_VERSION) != FlightRecorder.VERSION ||
+                buf.getInt(FlightRecorder.H_RECORD_BYTES) != FlightRecorder.RECORD_BYTES) {
+            LOGGER.warning("Skipping " + file + ": version " + buf.getInt(FlightRecorder.H_VERSION) + " not supported.");
+            return false;
+        }
+        return true;
+    }
+
+    private static Record decode(ByteBuffer buf, int off) {
+        Record r = new Record();
+        r.timestamp_us = buf.getLong(off + FlightRecorder.R_TIMESTAMP);
+        r.tick = buf.getLong(off + FlightRecorder.R_TICK);
+        for (int i = 0; i < FlightRecorder.SENSOR_COUNT; i++) {
+            r.sensors[i] = buf.getDouble(off + FlightRecorder.R_SENSORS + i * 8);
+        }
+        r.drive_L = buf.getDouble(off + FlightRecorder.R_DRIVE_L);
+        r.drive_R = buf.getDouble(off + FlightRecorder.R_DRIVE_R);
+        r.arm = buf.getDouble(off + FlightRecorder.R_ARM);
+        r.endE = buf.getDouble(off + FlightRecorder.R_ENDE);
+        r.locked_mask = buf.getLong(off + FlightRecorder.R_LOCKED_MASK);
+        r.running_jobs = buf.getInt(off + FlightRecorder.R_RUNNING_JOBS);
+        r.flags = buf.getInt(off + FlightRecorder.R_FLAGS);
+        r.match_time = buf.getFloat(off + FlightRecorder.R_MATCH_TIME);
+        r.battery = buf.getFloat(off + FlightRecorder.R_BATTERY);
+        for (int h = 0; h < FlightRecorder.HID_COUNT; h++) {
+            int base = off + FlightRecorder.R_HIDS + h * FlightRecorder.HID_BYTES;
+            for (int axis = 0; axis < FlightRecorder.HID_AXES; axis++) {
+                r.hid_axes[h][axis] = buf.getFloat(base + FlightRecorder.HID_AXIS + axis * 4);
+            }
+            r.hid_buttons[h] = buf.getInt(base + FlightRecorder.HID_BUTTONS);
+            r.hid_pov[h] = buf.getInt(base + FlightRecorder.HID_POV);
+        }
+        return r;
+    }
+}
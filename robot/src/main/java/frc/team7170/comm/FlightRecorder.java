@@ -0,0 +1,301 @@
+package frc.team7170.comm;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.team7170.jobs.Dispatcher;
+import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
+import frc.team7170.subsystems.Pneumatics;
+import frc.team7170.subsystems.arm.ArmEndE;
+import frc.team7170.subsystems.arm.ArmRotate;
+import frc.team7170.subsystems.drive.Drive;
+import frc.team7170.util.Clock;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+
+/**
+ * Records a fixed width binary record of the robot's state every main loop iteration (see record()) to memory mapped
+ * files on the roboRIO, so that a complete per-tick history is available after a match even when the dashboard drops
+ * data.
+ *
+ * The log is split into RobotMap.Recorder.segment_count segment files in RobotMap.Recorder.directory, each holding
+ * RobotMap.Recorder.segment_records records, which are reused in rotation (the oldest segment is overwritten). Every
+ * segment is created at its full size and has all its pages touched by a background thread before it's needed, so
+ * record() only ever writes to memory: it never allocates, never does file I/O, and never waits on the prep thread. If
+ * the next segment isn't ready in time, records are dropped (and counted) rather than waiting for it. Reading the
+ * driver station state does briefly take the {@link DriverStation}'s cache lock, which is only held while it copies in
+ * new data, as any other read of the controls does.
+ *
+ * Recording resumes after the segment with the highest sequence number that holds any records, so each boot takes the
+ * oldest segment to record into and prepares the one after it as the next. Hence the last segment_count - 2 segments
+ * written before a reboot (at least ten minutes of records with the defaults) survive the next boot; each further boot
+ * that records anything overwrites one more of them. Segments that were prepared but never recorded into are not
+ * counted, so a boot never skips past them.
+ *
+ * Each segment (big-endian) starts with a header of HEADER_BYTES:
+ *      long: MAGIC;
+ *      int: VERSION;
+ *      int: RECORD_BYTES;
+ *      int: capacity in records;
+ *      int: number of records written (updated after each record);
+ *      long: sequence number of the segment (increasing across segments and reboots);
+ * followed by the records, each RECORD_BYTES long and laid out as given by the R_... offsets below.
+ */
+public class FlightRecorder {
+
+    private final static Logger LOGGER = Logger.getLogger(FlightRecorder.class.getName());
+
+    private static FlightRecorder instance = new FlightRecorder();  // Singleton
+    public static FlightRecorder get_instance() {
+        return instance;
+    }
+    private FlightRecorder() {
+        LOGGER.info("Initializing flight recorder.");
+        if (!RobotMap.Recorder.enabled) {
+            return;
+        }
+        try {
+            new File(RobotMap.Recorder.directory).mkdirs();
+            seq = find_last_seq() + 1;
+            current = map_segment(seq);  // Blocking is fine during initialization
+        } catch (IOException e) {
+            LOGGER.severe("Could not create flight recorder segment; not recording: " + e);
+            return;
+        }
+        prep_thread.setDaemon(true);
+        prep_thread.setPriority(Thread.MIN_PRIORITY);
+        prep_thread.start();
+    }
+
+    public static final long MAGIC = 0x3731373046524543L;  // "7170FREC"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    // Header offsets
+    public static final int H_MAGIC = 0;
+    public static final int H_VERSION = 8;
+    public static final int H_RECORD_BYTES = 12;
+    public static final int H_CAPACITY = 16;
+    public static final int H_COUNT = 20;
+    public static final int H_SEQ = 24;
+
+    // Record offsets
+    public static final int R_TIMESTAMP = 0;  // long: Clock time in microseconds
+    public static final int R_TICK = 8;  // long: Dispatcher tick
+    public static final int R_SENSORS = 16;  // double[SENSOR_COUNT]: SensorFrame values, in the order of its fields
+    public static final int SENSOR_COUNT = 9;
+    public static final int R_DRIVE_L = 88;  // double: left drive output
+    public static final int R_DRIVE_R = 96;  // double: right drive output
+    public static final int R_ARM = 104;  // double: arm rotate output
+    public static final int R_ENDE = 112;  // double: end effector output
+    public static final int R_LOCKED_MASK = 120;  // long: Dispatcher mask of modules held by running jobs
+    public static final int R_RUNNING_JOBS = 128;  // int: number of running jobs
+    public static final int R_FLAGS = 132;  // int: F_... bits
+    public static final int R_MATCH_TIME = 136;  // float: seconds
+    public static final int R_BATTERY = 140;  // float: volts
+    public static final int R_HIDS = 144;  // HID_BYTES per HID, for each of the HID_COUNT ports in HID_PORTS
+    public static final int RECORD_BYTES = 208;
+
+    // Flag bits
+    public static final int F_ENABLED = 1;
+    public static final int F_AUTONOMOUS = 1 << 1;
+    public static final int F_TELEOP = 1 << 2;
+    public static final int F_TEST = 1 << 3;
+    public static final int F_DS_ATTACHED = 1 << 4;
+    public static final int F_FMS_ATTACHED = 1 << 5;
+    public static final int F_BROWNED_OUT = 1 << 6;
+    public static final int F_SOLENOIDS = 1 << 7;
+
+    // HID layout, relative to the start of each HID
+    public static final int HID_COUNT = 2;
+    public static final int[] HID_PORTS = {RobotMap.Controllers.joystick, RobotMap.Controllers.gamepad};
+    public static final int HID_AXES = 6;
+    public static final int HID_BYTES = 32;
+    public static final int HID_AXIS = 0;  // float[HID_AXES], 0 for axes the HID doesn't have
+    public static final int HID_BUTTONS = 24;  // int: bit i is button i + 1
+    public static final int HID_POV = 28;  // int: angle of POV 0, or -1 (also if the HID has no POV)
+
+    private final Thread prep_thread = new Thread(this::run_prep, "FlightRecorderPrep");
+    private long seq = 0;  // Sequence number of the current segment
+    private MappedByteBuffer current = null;  // Null if not recording; only touched by the main thread
+    private int count = 0;  // Records in the current segment
+    private volatile MappedByteBuffer next = null;  // Prepared by the prep thread, taken by the main thread
+    private volatile MappedByteBuffer retired = null;  // Full segment for the prep thread to flush
+    private long dropped = 0;
+
+    /**
+     * Append a record of the current state of the robot. Called once at the end of every main loop iteration.
+     */
+    public void record() {
+        if (current == null) {
+            return;
+        }
+        int capacity = RobotMap.Recorder.segment_records;
+        if (count == capacity) {
+            MappedByteBuffer n = next;
+            if (n == null) {
+                dropped++;  // The next segment isn't ready yet
+                return;
+            }
+            next = null;
+            retired = current;
+            current = n;
+            count = 0;
+            seq++;
+            LockSupport.unpark(prep_thread);
+        }
+        write_record(current, HEADER_BYTES + count * RECORD_BYTES);
+        count++;
+        current.putInt(H_COUNT, count);
+    }
+
+    private static void write_record(ByteBuffer buf, int off) {
+        SensorFrame frame = SensorFrame.get_current();
+        Dispatcher dispatcher = Dispatcher.get_instance();
+        DriverStation ds = DriverStation.getInstance();
+
+        buf.putLong(off + R_TIMESTAMP, Clock.get_instance().nanos() / 1000);
+        buf.putLong(off + R_TICK, dispatcher.get_tick());
+
+        int s = off + R_SENSORS;
+        buf.putDouble(s, frame.pot);
+        buf.putDouble(s + 8, frame.Lenc_dist);
+        buf.putDouble(s + 16, frame.Lenc_rate);
+        buf.putDouble(s + 24, frame.Renc_dist);
+        buf.putDouble(s + 32, frame.Renc_rate);
+        buf.putDouble(s + 40, frame.gyro);
+        buf.putDouble(s + 48, frame.accel_X);
+        buf.putDouble(s + 56, frame.accel_Y);
+        buf.putDouble(s + 64, frame.accel_Z);
+
+        buf.putDouble(off + R_DRIVE_L, Drive.get_instance().get_L());
+        buf.putDouble(off + R_DRIVE_R, Drive.get_instance().get_R());
+        buf.putDouble(off + R_ARM, ArmRotate.get_instance().get_arm_speed());
+        buf.putDouble(off + R_ENDE, ArmEndE.get_instance().get_endE_speed());
+        buf.putLong(off + R_LOCKED_MASK, dispatcher.get_locked_mask());
+        buf.putInt(off + R_RUNNING_JOBS, dispatcher.get_running_count());
+
+        int flags = 0;
+        if (ds.isEnabled()) flags |= F_ENABLED;
+        if (ds.isAutonomous()) flags |= F_AUTONOMOUS;
+        if (ds.isOperatorControl()) flags |= F_TELEOP;
+        if (ds.isTest()) flags |= F_TEST;
+        if (ds.isDSAttached()) flags |= F_DS_ATTACHED;
+        if (ds.isFMSAttached()) flags |= F_FMS_ATTACHED;
+        if (RobotController.isBrownedOut()) flags |= F_BROWNED_OUT;
+        if (Pneumatics.get_instance().get_solenoids()) flags |= F_SOLENOIDS;
+        buf.putInt(off + R_FLAGS, flags);
+        buf.putFloat(off + R_MATCH_TIME, (float) ds.getMatchTime());
+        buf.putFloat(off + R_BATTERY, (float) RobotController.getBatteryVoltage());
+
+        for (int i = 0; i < HID_COUNT; i++) {
+            int h = off + R_HIDS + i * HID_BYTES;
+            int port = HID_PORTS[i];
+            // Only read what the HID has; the driver station reports (and rate limits) reads past that as errors
+            int axes = ds.getStickAxisCount(port);
+            for (int axis = 0; axis < HID_AXES; axis++) {
+                buf.putFloat(h + HID_AXIS + axis * 4, axis < axes ? (float) ds.getStickAxis(port, axis) : 0.0f);
+            }
+            buf.putInt(h + HID_BUTTONS, ds.getStickButtons(port));
+            buf.putInt(h + HID_POV, ds.getStickPOVCount(port) > 0 ? ds.getStickPOV(port, 0) : -1);
+        }
+    }
+
+    /**
+     * Prepares the next segment whenever the main thread takes the last one, and flushes full segments to disk.
+     */
+    private void run_prep() {
+        long prepared_seq = seq;
+        while (true) {
+            MappedByteBuffer r = retired;
+            if (r != null) {
+                retired = null;
+                r.force();
+            }
+            if (next == null) {
+                try {
+                    next = map_segment(++prepared_seq);
+                } catch (IOException e) {
+                    LOGGER.severe("Could not create flight recorder segment: " + e);
+                    prepared_seq--;
+                    LockSupport.parkNanos(1_000_000_000L);  // Try again later
+                    continue;
+                }
+            }
+            LockSupport.park(this);
+        }
+    }
+
+    /**
+     * Create (or overwrite) the file of the given segment at its full size, map it, touch every page, and write its
+     * header.
+     * @param segment_seq The sequence number of the segment.
+     * @return The mapped segment.
+     */
+    private static MappedByteBuffer map_segment(long segment_seq) throws IOException {
+        int capacity = RobotMap.Recorder.segment_records;
+        int size = HEADER_BYTES + capacity * RECORD_BYTES;
+        MappedByteBuffer buf;
+        try (RandomAccessFile file = new RandomAccessFile(segment_file(segment_seq), "rw")) {
+            file.setLength(size);
+            buf = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);  // Stays valid after closing
+        }
+        for (int i = 0; i < size; i += 4096) {
+            buf.put(i, (byte) 0);  // Fault each page in now rather than on the main thread
+        }
+        buf.putLong(H_MAGIC, MAGIC);
+        buf.putInt(H_VERSION, VERSION);
+        buf.putInt(H_RECORD_BYTES, RECORD_BYTES);
+        buf.putInt(H_CAPACITY, capacity);
+        buf.putInt(H_COUNT, 0);
+        buf.putLong(H_SEQ, segment_seq);
+        return buf;
+    }
+
+    /**
+     * @return The file the segment with the given sequence number is stored in.
+     */
+    static File segment_file(long segment_seq) {
+        return new File(RobotMap.Recorder.directory,
+                "flight_" + (segment_seq % RobotMap.Recorder.segment_count) + ".bin");
+    }
+
+    /**
+     * @return The highest sequence number of the existing segments that hold any records, or -1 if there are none.
+     */
+    private static long find_last_seq() {
+        long last = -1;
+        for (int i = 0; i < RobotMap.Recorder.segment_count; i++) {
+            File f = segment_file(i);
+            if (!f.isFile()) {
+                continue;
+            }
+            try (RandomAccessFile file = new RandomAccessFile(f, "r")) {
+                if (file.length() >= HEADER_BYTES && file.readLong() == MAGIC) {
+                    file.seek(H_COUNT);
+                    if (file.readInt() == 0) {
+                        continue;  // Prepared as the next segment but never recorded into
+                    }
+                    file.seek(H_SEQ);
+                    last = Math.max(last, file.readLong());
+                }
+            } catch (IOException e) {
+                LOGGER.warning("Could not read flight recorder segment " + f + ": " + e);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @return The number of records dropped because the next segment wasn't ready.
+     */
+    public long get_dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,63 @@
+package frc.team7170.comm;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+
+/**
+ * Binds the communicating methods of {@link Communicator}s for {@link Communication}. Kept out of Communication so it
+ * can be used (e.g. benchmarked) without initializing Network Tables.
+ */
+final class MethodBinder {
+
+    private final static Logger LOGGER = Logger.getLogger(MethodBinder.class.getName());
+
+    private MethodBinder() {}
+
+    /**
+     * Bind a communicating method of a communicator once, at registration, into a {@link Consumer} so that each
+     * transmit/receive/RPC is a plain interface call rather than a reflective {@link Method#invoke(Object, Object...)}
+     * (which does access checks, boxes the arguments into an array, and wraps exceptions on every call). The consumer
+     * is generated with {@link LambdaMetafactory}, falling back to a bound {@link MethodHandle} if that isn't possible.
+     * @param communicator The communicator the method belongs to.
+     * @param meth The method; must be public and accept one parameter of the given type.
+     * @param param_type The type of the method's parameter.
+     * @return A consumer which calls the method on the communicator.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Consumer<T> bind(Communicator communicator, Method meth, Class<T> param_type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle impl;
+        try {
+            impl = lookup.unreflect(meth);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Communicating method "+meth.getName()+" in communicator is not public.");
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(Consumer.class, meth.getDeclaringClass()),
+                    MethodType.methodType(void.class, Object.class),
+                    impl,
+                    MethodType.methodType(void.class, param_type));
+            return (Consumer<T>) site.getTarget().invoke(communicator);
+        } catch (Throwable e) {
+            LOGGER.fine("Could not generate consumer for "+meth.getName()+"; using a method handle instead.");
+        }
+        MethodHandle bound = impl.bindTo(communicator);
+        return (arg) -> {
+            try {
+                bound.invoke(arg);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+}
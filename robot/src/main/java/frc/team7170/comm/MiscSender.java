@@ -1,6 +1,5 @@
 package frc.team7170.comm;
 
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.RobotController;
 import frc.team7170.robot.RobotMap;
@@ -25,109 +24,55 @@ public class MiscSender implements Communicator {
         register_comm();
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_DIMENSION_WHEEL_WIDTH_NS",
-            "O_DIMENSION_WHEEL_RADIUS_NS",
-            "O_DIMENSION_WHEEL_TO_WHEEL_NS",
-            "O_DIMENSION_WHEEL_SPACING_NS",
-            "O_DIMENSION_WIDTH_NS",
-            "O_DIMENSION_LENGTH_NS",
-            "O_DIMENSION_HEIGHT_NS"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_DIMENSION_WHEEL_WIDTH_NS":
-                entry.setDouble(RobotMap.RobotDims.wheel_width);
-                break;
-            case "O_DIMENSION_WHEEL_RADIUS_NS":
-                entry.setDouble(RobotMap.RobotDims.wheel_radius);
-                break;
-            case "O_DIMENSION_WHEEL_TO_WHEEL_NS":
-                entry.setDouble(RobotMap.RobotDims.wheel_to_wheel);
-                break;
-            case "O_DIMENSION_WHEEL_SPACING_NS":
-                entry.setDouble(RobotMap.RobotDims.wheel_spacing);
-                break;
-            case "O_DIMENSION_WIDTH_NS":
-                entry.setDouble(RobotMap.RobotDims.robot_width);
-                break;
-            case "O_DIMENSION_LENGTH_NS":
-                entry.setDouble(RobotMap.RobotDims.robot_length);
-                break;
-            case "O_DIMENSION_HEIGHT_NS":
-                entry.setDouble(RobotMap.RobotDims.robot_height);
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_DIMENSION_WHEEL_WIDTH_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.wheel_width);
+        comm.publish_double("O_DIMENSION_WHEEL_RADIUS_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.wheel_radius);
+        comm.publish_double("O_DIMENSION_WHEEL_TO_WHEEL_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.wheel_to_wheel);
+        comm.publish_double("O_DIMENSION_WHEEL_SPACING_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.wheel_spacing);
+        comm.publish_double("O_DIMENSION_WIDTH_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.robot_width);
+        comm.publish_double("O_DIMENSION_LENGTH_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.robot_length);
+        comm.publish_double("O_DIMENSION_HEIGHT_NS", TransmitFrequency.STATIC, () -> RobotMap.RobotDims.robot_height);
+
+        DriverStation ds = DriverStation.getInstance();
+        comm.publish_boolean("O_ROBOT_ENABLED_NT", TransmitFrequency.SLOW, ds::isEnabled);
+        comm.publish_double("O_ROBOT_MODE_NT", TransmitFrequency.SLOW, this::get_robot_mode);
+        comm.publish_boolean("O_DS_ATTACHED_NT", TransmitFrequency.SLOW, ds::isDSAttached);
+        comm.publish_boolean("O_FMS_ATTACHED_NT", TransmitFrequency.SLOW, ds::isFMSAttached);
+        comm.publish_double("O_ALLIANCE_COLOUR_NT", TransmitFrequency.SLOW, this::get_alliance_colour);
+        comm.publish_double("O_ALLIANCE_LOCATION_NT", TransmitFrequency.SLOW, ds::getLocation);
+        comm.publish_string("O_GAME_SPECIFIC_MESSAGE_NT", TransmitFrequency.SLOW, ds::getGameSpecificMessage);
+
+        comm.publish_double("O_MATCH_TIME_NT", TransmitFrequency.FAST, ds::getMatchTime);
+        comm.publish_boolean("O_BROWNED_OUT_NT", TransmitFrequency.FAST, RobotController::isBrownedOut);
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_ROBOT_ENABLED_NT",
-            "O_ROBOT_MODE_NT",
-            "O_DS_ATTACHED_NT",
-            "O_FMS_ATTACHED_NT",
-            "O_ALLIANCE_COLOUR_NT",
-            "O_ALLIANCE_LOCATION_NT",
-            "O_GAME_SPECIFIC_MESSAGE_NT"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_ROBOT_ENABLED_NT":
-                entry.setBoolean(DriverStation.getInstance().isEnabled());
-                break;
-            case "O_ROBOT_MODE_NT":
-                if (DriverStation.getInstance().isAutonomous()) {
-                    entry.setDouble(0.0);
-                } else if (DriverStation.getInstance().isOperatorControl()) {
-                    entry.setDouble(1.0);
-                } else if (DriverStation.getInstance().isTest()) {
-                    entry.setDouble(2.0);
-                } else {
-                    LOGGER.warning("No valid robot state determined.");
-                }
-                break;
-            case "O_DS_ATTACHED_NT":
-                entry.setBoolean(DriverStation.getInstance().isDSAttached());
-                break;
-            case "O_FMS_ATTACHED_NT":
-                entry.setBoolean(DriverStation.getInstance().isFMSAttached());
-                break;
-            case "O_ALLIANCE_COLOUR_NT":
-                switch (DriverStation.getInstance().getAlliance()) {
-                    case Red:
-                        entry.setDouble(1.0);
-                        break;
-                    case Blue:
-                        entry.setDouble(2.0);
-                        break;
-                    case Invalid:
-                        entry.setDouble(0.0);
-                        break;
-                }
-                break;
-            case "O_ALLIANCE_LOCATION_NT":
-                entry.setDouble(DriverStation.getInstance().getLocation());
-                break;
-            case "O_GAME_SPECIFIC_MESSAGE_NT":
-                entry.setString(DriverStation.getInstance().getGameSpecificMessage());
-                break;
+    /**
+     * @return 0 for autonomous, 1 for teleop, 2 for test, or -1 if no valid robot state could be determined.
+     */
+    private double get_robot_mode() {
+        if (DriverStation.getInstance().isAutonomous()) {
+            return 0.0;
+        } else if (DriverStation.getInstance().isOperatorControl()) {
+            return 1.0;
+        } else if (DriverStation.getInstance().isTest()) {
+            return 2.0;
         }
+        LOGGER.warning("No valid robot state determined.");
+        return -1.0;
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.FAST, value = {
-            "O_MATCH_TIME_NT",
-            "O_BROWNED_OUT_NT"
-    })
-    public void transmitter_fast(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_MATCH_TIME_NT":
-                entry.setDouble(DriverStation.getInstance().getMatchTime());
-                break;
-            case "O_BROWNED_OUT_NT":
-                entry.setBoolean(RobotController.isBrownedOut());
-                break;
+    /**
+     * @return 1 for red, 2 for blue, or 0 if invalid.
+     */
+    private double get_alliance_colour() {
+        switch (DriverStation.getInstance().getAlliance()) {
+            case Red:
+                return 1.0;
+            case Blue:
+                return 2.0;
+            default:
+                return 0.0;
         }
     }
 }
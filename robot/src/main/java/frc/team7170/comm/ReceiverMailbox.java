@@ -0,0 +1,85 @@
+package frc.team7170.comm;
+
+import edu.wpi.first.networktables.EntryNotification;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+
+/**
+ * Moves {@link Receiver} calls from the Network Tables listener thread onto the main loop. Network Tables notifications
+ * for each received key are posted here instead of being handed straight to the receiver, and drain() (called once per
+ * iteration from Robot.robotPeriodic()) applies them. Hence receivers can touch RobotMap and hardware without racing
+ * the main loop and control thread.
+ *
+ * Notifications are coalesced per key: each key only holds its latest notification, so a burst of updates (e.g.
+ * dragging a slider on the dashboard) is applied once per iteration with the final value. A key is queued only when it
+ * goes from having no pending notification to having one, so the queue never holds more than one entry per key and
+ * neither side ever takes a lock.
+ */
+public class ReceiverMailbox {
+
+    private final static Logger LOGGER = Logger.getLogger(ReceiverMailbox.class.getName());
+
+    private static ReceiverMailbox instance = new ReceiverMailbox();  // Singleton
+    public static ReceiverMailbox get_instance() {
+        return instance;
+    }
+    private ReceiverMailbox() {}
+
+    /**
+     * A registered receiver along with its pending notification, if any.
+     */
+    private static class Slot {
+
+        final String key;
+        final Consumer<EntryNotification> receiver;
+        final AtomicReference<EntryNotification> pending = new AtomicReference<>(null);
+
+        Slot(String key, Consumer<EntryNotification> receiver) {
+            this.key = key;
+            this.receiver = receiver;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Slot> queue = new ConcurrentLinkedQueue<>();  // Slots with a pending notification
+    private volatile int slot_count = 0;
+
+    /**
+     * Wrap a receiver so that the notifications passed to it are applied on the main loop.
+     * @param key The (rectified) key being received, for logging.
+     * @param receiver The receiver.
+     * @return A listener to be called from the Network Tables listener thread.
+     */
+    Consumer<EntryNotification> wrap(String key, Consumer<EntryNotification> receiver) {
+        Slot slot = new Slot(key, receiver);
+        slot_count++;  // Only registered from the main thread
+        return (event) -> {
+            if (slot.pending.getAndSet(event) == null) {
+                queue.offer(slot);
+            }
+        };
+    }
+
+    /**
+     * Apply the latest pending notification of each key, in the order the keys were first updated. Only called from the
+     * main loop.
+     */
+    public void drain() {
+        Slot slot;
+        // A key updated again while draining is queued again, so bound the work to one pass over the keys
+        for (int n = slot_count; n > 0 && (slot = queue.poll()) != null; n--) {
+            EntryNotification event = slot.pending.getAndSet(null);
+            if (event == null) {
+                continue;
+            }
+            try {
+                slot.receiver.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.severe("Exception in receiver for " + slot.key + ": " + e);
+                e.printStackTrace();
+            }
+        }
+    }
+}
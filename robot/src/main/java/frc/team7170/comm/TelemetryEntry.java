@@ -0,0 +1,158 @@
+package frc.team7170.comm;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.team7170.util.Clock;
+import java.util.Arrays;
+
+
+/**
+ * What {@link Transmitter}s write to: a wrapper around the {@link NetworkTableEntry} of one key which remembers the last
+ * value actually sent and skips writes that wouldn't change anything. A double is only sent if it differs from the last
+ * one sent by more than the key's deadband (see {@link Transmitter#deadband()}); any other value is only sent if it's
+ * not equal to the last one. Regardless, the value is sent again if nothing has been sent for the refresh period
+ * (RobotMap.Communication.telemetry_refresh_ms), so the dashboard catches up even if it missed an update.
+ *
+ * If the entry has a slot in a {@link TelemetryFrame}, doubles and booleans are written to the slot instead of the
+ * entry itself; strings are always written to the entry. If there is a {@link TelemetryPublisher}, writes to the entry
+ * are handed to it rather than made on the main loop.
+ *
+ * The setters deliberately have the same names as those of {@link NetworkTableEntry} so that transmitters read the same
+ * either way. Each entry is only ever written from the main loop (through {@link Communication#update()}).
+ */
+public class TelemetryEntry {
+
+    private final NetworkTableEntry entry;
+    private final String name;  // Of the entry, kept so it isn't fetched from NetworkTables on every use
+    private final double deadband;
+    private final long refresh_ns;
+    private final TelemetryFrame frame;  // Null if not packed
+    private final int frame_slot;
+    private final TelemetryPublisher publisher;  // Null if publishing inline
+    private final int publisher_slot;
+
+    private long last_write = 0;  // Clock time of the last write in nanoseconds
+    private boolean written = false;  // Whether anything has been written yet
+    // Last value written; only the field for the type last written is meaningful
+    private double last_double;
+    private boolean last_boolean;
+    private String last_string;
+    private String[] last_string_array;
+
+    /**
+     * @param entry The entry to write to.
+     * @param deadband The largest change in a double value that is not sent; 0 to send every change.
+     * @param refresh_ms The longest time to go without sending the current value, in milliseconds.
+     */
+    TelemetryEntry(NetworkTableEntry entry, double deadband, long refresh_ms) {
+        this(entry, deadband, refresh_ms, null, null);
+    }
+
+    /**
+     * @param entry The entry to write strings to.
+     * @param deadband The largest change in a double value that is not sent; 0 to send every change.
+     * @param refresh_ms The longest time to go without sending the current value, in milliseconds.
+     * @param frame The frame to write doubles and booleans to (a slot is added for this entry), or null to write them to
+     *              the entry.
+     * @param publisher The publisher to hand writes to the entry to (a slot is added for this entry), or null to write
+     *                  them inline.
+     */
+    TelemetryEntry(NetworkTableEntry entry, double deadband, long refresh_ms, TelemetryFrame frame,
+                   TelemetryPublisher publisher) {
+        this.entry = entry;
+        this.name = entry.getName();
+        this.deadband = deadband;
+        this.refresh_ns = refresh_ms * 1_000_000;
+        this.frame = frame;
+        this.frame_slot = frame != null ? frame.add_slot(name) : -1;
+        this.publisher = publisher;
+        this.publisher_slot = publisher != null ? publisher.add_slot(entry) : -1;
+    }
+
+    /**
+     * @return Whether the refresh period has passed since the last write (always true if nothing was written).
+     */
+    private boolean refresh_due(long now) {
+        return !written || now - last_write >= refresh_ns;
+    }
+
+    private void wrote(long now) {
+        written = true;
+        last_write = now;
+    }
+
+    public void setDouble(double value) {
+        long now = Clock.get_instance().nanos();
+        if (refresh_due(now) || !(Math.abs(value - last_double) <= deadband || Double.compare(value, last_double) == 0)) {
+            if (frame != null) {
+                frame.put(frame_slot, value);
+            } else if (publisher != null) {
+                publisher.put_double(publisher_slot, value);
+            } else {
+                entry.setDouble(value);
+            }
+            last_double = value;
+            last_string = null;
+            last_string_array = null;
+            wrote(now);
+        }
+    }
+
+    public void setBoolean(boolean value) {
+        long now = Clock.get_instance().nanos();
+        if (refresh_due(now) || value != last_boolean) {
+            if (frame != null) {
+                frame.put(frame_slot, value ? 1 : 0);
+            } else if (publisher != null) {
+                publisher.put_boolean(publisher_slot, value);
+            } else {
+                entry.setBoolean(value);
+            }
+            last_boolean = value;
+            wrote(now);
+        }
+    }
+
+    public void setString(String value) {
+        long now = Clock.get_instance().nanos();
+        if (refresh_due(now) || !value.equals(last_string)) {
+            if (publisher != null) {
+                publisher.put_string(publisher_slot, value);
+            } else {
+                entry.setString(value);
+            }
+            last_string = value;
+            wrote(now);
+        }
+    }
+
+    /**
+     * Note that the array is kept to compare against the next value, so it must not be modified afterwards.
+     */
+    public void setStringArray(String[] value) {
+        long now = Clock.get_instance().nanos();
+        if (refresh_due(now) || !Arrays.equals(value, last_string_array)) {
+            if (publisher != null) {
+                publisher.put_string_array(publisher_slot, value);
+            } else {
+                entry.setStringArray(value);
+            }
+            last_string_array = value;
+            wrote(now);
+        }
+    }
+
+    public String getString(String default_value) {
+        return entry.getString(default_value);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The wrapped entry, for anything not covered here. Writing to it directly bypasses change detection.
+     */
+    public NetworkTableEntry get_entry() {
+        return entry;
+    }
+}
@@ -0,0 +1,167 @@
+package frc.team7170.comm;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.team7170.util.Clock;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+
+/**
+ * Packs the values of many telemetry keys into one fixed layout raw entry, so that the dashboard gets one update per
+ * {@link Communication#update()} instead of one per key. Used by {@link Communication} for
+ * {@link TransmitFrequency#FAST} and {@link TransmitFrequency#VOLATILE} transmitters when
+ * RobotMap.Communication.packed_telemetry is set.
+ *
+ * Each key gets a slot in the order it was registered; the list of keys is the schema, published once to its own entry
+ * (RobotMap.Communication.DB_telemetry_schema) before the first frame. A frame (RobotMap.Communication.DB_telemetry_frame)
+ * is laid out big-endian as:
+ *      int: number of slots (must match the length of the schema);
+ *      long: {@link Clock} time of publishing in microseconds;
+ *      double per slot: the last value written to that key (booleans as 0 or 1), or NaN if nothing has been written.
+ * String values don't fit the layout and are still written to their own entries.
+ *
+ * The frame is encoded into one preallocated buffer, which only grows while keys are being registered. If there is a
+ * {@link TelemetryPublisher}, the frame and schema are handed to it rather than written on the main loop. See
+ * {@link Decoder} to read a frame back.
+ */
+public class TelemetryFrame {
+
+    public static final int HEADER_BYTES = 4 + 8;
+    public static final int SLOT_BYTES = 8;
+
+    private final NetworkTableEntry frame_entry;
+    private final NetworkTableEntry schema_entry;
+    private final TelemetryPublisher publisher;  // Null if publishing inline
+    private final int frame_slot;
+    private final int schema_slot;
+    private final ArrayList<String> keys = new ArrayList<>();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_BYTES);  // NT only publishes raw values from direct buffers
+    private boolean dirty = false;  // Whether any slot was written since the last frame was published
+    private boolean schema_published = false;
+
+    /**
+     * @param frame_entry The entry to publish the frame to.
+     * @param schema_entry The entry to publish the schema to.
+     * @param publisher The publisher to hand both to, or null to write them inline.
+     */
+    TelemetryFrame(NetworkTableEntry frame_entry, NetworkTableEntry schema_entry, TelemetryPublisher publisher) {
+        this.frame_entry = frame_entry;
+        this.schema_entry = schema_entry;
+        this.publisher = publisher;
+        frame_slot = publisher != null ? publisher.add_slot(frame_entry) : -1;
+        schema_slot = publisher != null ? publisher.add_slot(schema_entry) : -1;
+    }
+
+    /**
+     * Add a slot for a key. Should only be called during registration, as this reallocates the buffer.
+     * @param key The (rectified) key.
+     * @return The index of the key's slot.
+     */
+    int add_slot(String key) {
+        int slot = keys.size();
+        keys.add(key);
+        ByteBuffer new_buffer = ByteBuffer.allocateDirect(HEADER_BYTES + keys.size() * SLOT_BYTES);
+        buffer.rewind();
+        new_buffer.put(buffer);  // Only absolute gets/puts are used otherwise, so the positions don't matter
+        new_buffer.putDouble(HEADER_BYTES + slot * SLOT_BYTES, Double.NaN);
+        buffer = new_buffer;
+        schema_published = false;
+        return slot;
+    }
+
+    /**
+     * @param slot The slot index returned by add_slot(String).
+     * @param value The value to put in the slot.
+     */
+    void put(int slot, double value) {
+        buffer.putDouble(HEADER_BYTES + slot * SLOT_BYTES, value);
+        dirty = true;
+    }
+
+    /**
+     * Publish the frame if any slot was written since the last call, publishing the schema first if it has changed.
+     */
+    void publish() {
+        if (!dirty) {
+            return;
+        }
+        if (!schema_published) {
+            String[] schema = keys.toArray(new String[keys.size()]);
+            if (publisher != null) {
+                publisher.put_string_array(schema_slot, schema);
+            } else {
+                schema_entry.setStringArray(schema);
+            }
+            schema_published = true;
+        }
+        buffer.putInt(0, keys.size());
+        buffer.putLong(4, Clock.get_instance().nanos() / 1000);
+        if (publisher != null) {
+            publisher.put_raw(frame_slot, buffer);
+        } else {
+            frame_entry.setRaw(buffer, buffer.capacity());
+        }
+        dirty = false;
+    }
+
+    /**
+     * Reads frames published by a {@link TelemetryFrame}, given the schema they were published with.
+     */
+    public static class Decoder {
+
+        private final String[] schema;
+        private final HashMap<String, Integer> slots = new HashMap<>();
+        private final double[] values;
+        private long timestamp_us = 0;
+
+        /**
+         * @param schema The value of the schema entry.
+         */
+        public Decoder(String[] schema) {
+            this.schema = schema.clone();
+            for (int i = 0; i < schema.length; i++) {
+                slots.put(schema[i], i);
+            }
+            values = new double[schema.length];
+            Arrays.fill(values, Double.NaN);
+        }
+
+        /**
+         * Decode a frame, replacing the values from the last one.
+         * @param frame The value of the frame entry.
+         * @throws RuntimeException If the frame doesn't match the schema.
+         */
+        public void decode(byte[] frame) {
+            ByteBuffer buf = ByteBuffer.wrap(frame);
+            if (frame.length != HEADER_BYTES + schema.length * SLOT_BYTES || buf.getInt(0) != schema.length) {
+                throw new RuntimeException("Telemetry frame does not match schema of " + schema.length + " keys.");
+            }
+            timestamp_us = buf.getLong(4);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buf.getDouble(HEADER_BYTES + i * SLOT_BYTES);
+            }
+        }
+
+        /**
+         * @param key The (rectified) key.
+         * @return The value of the key in the last frame decoded, or NaN if the key is not in the schema or had no value.
+         */
+        public double get(String key) {
+            Integer slot = slots.get(key);
+            return slot == null ? Double.NaN : values[slot];
+        }
+
+        /**
+         * @return The time the last frame decoded was published, in microseconds.
+         */
+        public long get_timestamp_us() {
+            return timestamp_us;
+        }
+
+        public String[] get_schema() {
+            return schema.clone();
+        }
+    }
+}
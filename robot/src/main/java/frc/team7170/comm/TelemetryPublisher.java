@@ -0,0 +1,219 @@
+package frc.team7170.comm;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+
+/**
+ * Moves Network Tables writes off the main loop. Used by {@link Communication} when
+ * RobotMap.Communication.async_publish is set: each {@link TelemetryEntry} (and the {@link TelemetryFrame}) gets a slot
+ * here and, instead of writing to its entry, just stores the value in the slot. At the end of each update,
+ * {@link Communication} calls commit(), which copies every slot into a preallocated snapshot and hands it to the
+ * publisher thread, which then does the actual writes.
+ *
+ * Snapshots are passed through a triple buffer: the main thread fills its back snapshot and swaps it with the middle
+ * one in a single atomic exchange, and the publisher thread swaps its front snapshot with the middle one when there's a
+ * newer one there. Neither thread ever waits on the other. Each snapshot holds the full state of every slot along with
+ * a version per slot that is bumped on every write, so the publisher thread only writes slots that changed since it
+ * last published and nothing is lost if it skips a snapshot (a later snapshot has the later values).
+ *
+ * Slots should only be added during registration, as that reallocates the live state; snapshots are resized on the
+ * next commit.
+ */
+class TelemetryPublisher {
+
+    private final static Logger LOGGER = Logger.getLogger(TelemetryPublisher.class.getName());
+
+    // Kinds of value a slot can hold
+    private static final byte NONE = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte BOOLEAN = 2;  // Stored in the double as 0 or 1
+    private static final byte STRING = 3;
+    private static final byte STRING_ARRAY = 4;
+    private static final byte RAW = 5;  // Stored as a byte[] private to the snapshot
+
+    /**
+     * The state of every slot at one commit.
+     */
+    private static class Snapshot {
+
+        final NetworkTableEntry[] entries;
+        final byte[] kinds;
+        final double[] doubles;
+        final Object[] objects;
+        final long[] versions;
+        // Volatile as the publisher thread peeks at the middle snapshot's seq, which the main thread may be rewriting if
+        // it has just swapped that snapshot back out (a plain long can tear on 32-bit ARM)
+        volatile long seq = 0;
+
+        Snapshot(NetworkTableEntry[] entries) {
+            this.entries = entries;
+            kinds = new byte[entries.length];
+            doubles = new double[entries.length];
+            objects = new Object[entries.length];
+            versions = new long[entries.length];
+        }
+    }
+
+    // Live state; only touched by the main thread
+    private NetworkTableEntry[] entries = new NetworkTableEntry[0];  // Replaced (never mutated) when a slot is added
+    private byte[] kinds = new byte[0];
+    private double[] doubles = new double[0];
+    private Object[] objects = new Object[0];
+    private long[] versions = new long[0];
+    private long seq = 0;
+    private Snapshot back = null;
+
+    private final AtomicReference<Snapshot> middle = new AtomicReference<>(null);
+    private final Thread thread = new Thread(this::run_loop, "TelemetryPublisher");
+
+    TelemetryPublisher() {
+        LOGGER.info("Initializing telemetry publisher.");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);  // Never compete with the main loop or control thread
+        thread.start();
+    }
+
+    /**
+     * @param entry The entry that the slot's value is written to.
+     * @return The index of the new slot.
+     */
+    int add_slot(NetworkTableEntry entry) {
+        int slot = entries.length;
+        entries = Arrays.copyOf(entries, slot + 1);
+        entries[slot] = entry;
+        kinds = Arrays.copyOf(kinds, slot + 1);
+        doubles = Arrays.copyOf(doubles, slot + 1);
+        objects = Arrays.copyOf(objects, slot + 1);
+        versions = Arrays.copyOf(versions, slot + 1);
+        return slot;
+    }
+
+    void put_double(int slot, double value) {
+        kinds[slot] = DOUBLE;
+        doubles[slot] = value;
+        versions[slot]++;
+    }
+
+    void put_boolean(int slot, boolean value) {
+        kinds[slot] = BOOLEAN;
+        doubles[slot] = value ? 1 : 0;
+        versions[slot]++;
+    }
+
+    void put_string(int slot, String value) {
+        kinds[slot] = STRING;
+        objects[slot] = value;
+        versions[slot]++;
+    }
+
+    /**
+     * The array is published as is, so it must not be modified afterwards.
+     */
+    void put_string_array(int slot, String[] value) {
+        kinds[slot] = STRING_ARRAY;
+        objects[slot] = value;
+        versions[slot]++;
+    }
+
+    /**
+     * @param buffer Copied from its start up to its capacity; its position is left at zero.
+     */
+    void put_raw(int slot, ByteBuffer buffer) {
+        byte[] bytes = kinds[slot] == RAW ? (byte[]) objects[slot] : null;
+        if (bytes == null || bytes.length != buffer.capacity()) {
+            bytes = new byte[buffer.capacity()];  // Only happens when the frame is resized during registration
+        }
+        buffer.rewind();
+        buffer.get(bytes);
+        buffer.rewind();
+        kinds[slot] = RAW;
+        objects[slot] = bytes;
+        versions[slot]++;
+    }
+
+    /**
+     * Hand the current state of every slot to the publisher thread. Called by the main thread once per update.
+     */
+    void commit() {
+        if (back == null || back.entries != entries) {
+            back = new Snapshot(entries);  // Only happens after slots were added
+        }
+        System.arraycopy(kinds, 0, back.kinds, 0, kinds.length);
+        System.arraycopy(doubles, 0, back.doubles, 0, doubles.length);
+        System.arraycopy(versions, 0, back.versions, 0, versions.length);
+        for (int i = 0; i < objects.length; i++) {
+            if (kinds[i] == RAW) {
+                // Raw values are mutable, so each snapshot needs its own copy
+                byte[] src = (byte[]) objects[i];
+                byte[] dst = back.objects[i] instanceof byte[] ? (byte[]) back.objects[i] : null;
+                if (dst == null || dst.length != src.length) {
+                    dst = new byte[src.length];
+                }
+                System.arraycopy(src, 0, dst, 0, src.length);
+                back.objects[i] = dst;
+            } else {
+                back.objects[i] = objects[i];
+            }
+        }
+        back.seq = ++seq;
+        back = middle.getAndSet(back);
+        LockSupport.unpark(thread);
+    }
+
+    private void run_loop() {
+        Snapshot front = null;
+        long last_seq = 0;
+        long[] published = new long[0];  // Version of each slot last written
+        while (true) {
+            LockSupport.park(this);
+            Snapshot latest = middle.get();
+            if (latest == null || latest.seq <= last_seq) {
+                continue;  // Spurious wake up, or already published
+            }
+            front = middle.getAndSet(front);  // Might be even newer than latest by now
+            last_seq = front.seq;
+            if (published.length < front.entries.length) {
+                published = Arrays.copyOf(published, front.entries.length);
+            }
+            for (int i = 0; i < front.entries.length; i++) {
+                if (front.versions[i] == published[i]) {
+                    continue;
+                }
+                published[i] = front.versions[i];
+                try {
+                    write(front, i);
+                } catch (RuntimeException e) {
+                    LOGGER.severe("Exception publishing " + front.entries[i].getName() + ": " + e);
+                }
+            }
+        }
+    }
+
+    private static void write(Snapshot snapshot, int slot) {
+        NetworkTableEntry entry = snapshot.entries[slot];
+        switch (snapshot.kinds[slot]) {
+            case DOUBLE:
+                entry.setDouble(snapshot.doubles[slot]);
+                break;
+            case BOOLEAN:
+                entry.setBoolean(snapshot.doubles[slot] != 0);
+                break;
+            case STRING:
+                entry.setString((String) snapshot.objects[slot]);
+                break;
+            case STRING_ARRAY:
+                entry.setStringArray((String[]) snapshot.objects[slot]);
+                break;
+            case RAW:
+                entry.setRaw((byte[]) snapshot.objects[slot]);
+                break;
+            case NONE:
+                break;
+        }
+    }
+}
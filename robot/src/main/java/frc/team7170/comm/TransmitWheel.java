@@ -0,0 +1,149 @@
+package frc.team7170.comm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+
+/**
+ * Hashed timing wheel which schedules the polling of {@link Transmitter}s for {@link Communication}. The wheel advances
+ * one slot per call to advance(boolean[]). Each task sits in the slot of the tick it is next due on, along with the
+ * number of whole turns of the wheel to wait for periods longer than the wheel. Hence each tick only touches the tasks
+ * that are due, rather than checking the time of every transmitter.
+ *
+ * Tasks with the same period are spread over the ticks of that period as they are added, so that e.g. the SLOW
+ * transmitters don't all fire on the same tick. The period of a task can be changed at any time with
+ * set_period(int, int) (e.g. when the dashboard asks for a different rate) without adding it again.
+ *
+ * Not thread safe; only used from the main loop.
+ */
+class TransmitWheel {
+
+    private static final int SIZE = 64;  // Number of slots; must be a power of two
+    private static final int MASK = SIZE - 1;
+
+    /**
+     * A scheduled transmitter. Each task is a node in the linked list of the slot it's in, so scheduling never
+     * allocates.
+     */
+    static class Task {
+
+        final String key;
+        final Runnable func;
+        final int default_period;  // In ticks, as registered
+        final int min_period;  // In ticks; the shortest period the dashboard may ask for
+        private int id = -1;  // Index of the task in the order added
+        private int period;  // In ticks
+        private int rounds = 0;  // Whole turns of the wheel to wait before the task is due
+        private int slot = -1;  // Slot the task is in
+        private Task next = null;
+
+        /**
+         * @param key The (rectified) key of the transmitter.
+         * @param func Polls the transmitter.
+         * @param period The number of ticks between polls; at least 1.
+         * @param min_period The shortest period that may be set later; at least 1.
+         */
+        Task(String key, Runnable func, int period, int min_period) {
+            this.key = key;
+            this.func = func;
+            this.default_period = period;
+            this.min_period = min_period;
+            this.period = period;
+        }
+
+        int get_id() {
+            return id;
+        }
+
+        int get_period() {
+            return period;
+        }
+    }
+
+    private final Task[] slots = new Task[SIZE];
+    private final ArrayList<Task> tasks = new ArrayList<>();  // By id
+    private final HashMap<Integer, Integer> phases = new HashMap<>();  // Number of tasks added with each period
+    private long tick = 0;
+
+    /**
+     * Schedule a task, first due within one period of now.
+     * @param task The task.
+     * @return The id of the task: the number of tasks added before it.
+     */
+    int add(Task task) {
+        task.id = tasks.size();
+        tasks.add(task);
+        int n = phases.getOrDefault(task.period, 0);
+        phases.put(task.period, n + 1);
+        insert(task, 1 + n % task.period);
+        return task.id;
+    }
+
+    /**
+     * @param task The task.
+     * @param delay The number of ticks from now that the task is due; at least 1.
+     */
+    private void insert(Task task, int delay) {
+        int slot = (int) ((tick + delay) & MASK);
+        task.rounds = (delay - 1) / SIZE;
+        task.slot = slot;
+        task.next = slots[slot];
+        slots[slot] = task;
+    }
+
+    /**
+     * Change the period of a task. The task is next due at the sooner of when it was already due and one new period
+     * from now, so speeding a slow task up takes effect straight away.
+     * @param id The id of the task.
+     * @param period The new number of ticks between polls; at least 1.
+     */
+    void set_period(int id, int period) {
+        Task task = tasks.get(id);
+        if (period == task.period) {
+            return;
+        }
+        task.period = period;
+        int remaining = task.rounds * SIZE + (int) ((task.slot - tick - 1) & MASK) + 1;
+        if (remaining <= period) {
+            return;  // Already due within the new period; it'll be rescheduled with the new period when it runs
+        }
+        // Unlink the task from its slot and reinsert it
+        Task prev = null;
+        for (Task t = slots[task.slot]; t != task; t = t.next) {
+            prev = t;
+        }
+        if (prev == null) {
+            slots[task.slot] = task.next;
+        } else {
+            prev.next = task.next;
+        }
+        insert(task, period);
+    }
+
+    /**
+     * Advance to the next tick, running each task due on it which is enabled. Due tasks are rescheduled one period later
+     * whether or not they are enabled.
+     * @param enabled Whether each task is enabled, by id; tasks with ids past its end are disabled.
+     */
+    void advance(boolean[] enabled) {
+        tick++;
+        int slot = (int) (tick & MASK);
+        Task task = slots[slot];
+        slots[slot] = null;  // Detach the list so tasks can be rescheduled into this same slot
+        while (task != null) {
+            Task next = task.next;
+            if (task.rounds > 0) {
+                // Not due until a later turn of the wheel
+                task.rounds--;
+                task.next = slots[slot];
+                slots[slot] = task;
+            } else {
+                if (task.id < enabled.length && enabled[task.id]) {
+                    task.func.run();
+                }
+                insert(task, task.period);
+            }
+            task = next;
+        }
+    }
+}
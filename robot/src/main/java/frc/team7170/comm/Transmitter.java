@@ -32,4 +32,17 @@ public @interface Transmitter {
      * are not satisfactory. Any number for this greater than zero will override {@link Transmitter#poll_rate()}.
      */
     int poll_rate_ms() default -1;
+
+    /**
+     * The shortest delay in milliseconds that the dashboard may ask for when it requests a rate for these keys (see
+     * {@link Communication}). If not greater than zero (the default), the rate given by {@link Transmitter#poll_rate()}
+     * or {@link Transmitter#poll_rate_ms()} is also the fastest, so the dashboard can only slow these keys down.
+     */
+    int min_poll_rate_ms() default -1;
+
+    /**
+     * For keys holding doubles, the largest change from the last value sent that is not worth sending. Zero (the
+     * default) sends every change. See {@link TelemetryEntry}.
+     */
+    double deadband() default 0;
 }
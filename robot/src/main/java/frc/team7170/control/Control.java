@@ -3,16 +3,15 @@ package frc.team7170.control;
 import java.util.HashSet;
 import java.util.logging.Logger;
 
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.RpcAnswer;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.GenericHID;
-import edu.wpi.first.wpilibj.Joystick;
+import frc.team7170.comm.Communication;
 import frc.team7170.comm.Communicator;
 import frc.team7170.comm.RPCCaller;
 import frc.team7170.comm.TransmitFrequency;
-import frc.team7170.comm.Transmitter;
 import frc.team7170.control.keymaps.KeyMap;
+import frc.team7170.robot.Hardware;
 import frc.team7170.robot.RobotMap;
 
 
@@ -44,9 +43,8 @@ public class Control implements Communicator {
         register_comm();
     }
 
-    // Technically these don't have to be a Joystick because we're simply accessing raw values
-    private final Joystick _joystick = new Joystick(RobotMap.Controllers.joystick);
-    private final Joystick _gamepad = new Joystick(RobotMap.Controllers.gamepad);
+    private final Hardware.HID _joystick = Hardware.get_instance().hid(RobotMap.Controllers.joystick);
+    private final Hardware.HID _gamepad = Hardware.get_instance().hid(RobotMap.Controllers.gamepad);
 
     /**
      * Set of all actions that have had warnings logged about being unbound already to prevent console spam.
@@ -74,9 +72,9 @@ public class Control implements Communicator {
         public final HIDPOVAccessor TOP_LEFT;
         public final HIDPOVAccessor CENTRE;
 
-        private GenericHID joy;
+        private Hardware.HID joy;
 
-        _POV(GenericHID joy) {
+        _POV(Hardware.HID joy) {
             TOP             = new HIDPOVAccessor(0, joy);
             TOP_RIGHT       = new HIDPOVAccessor(45, joy);
             RIGHT           = new HIDPOVAccessor(90, joy);
@@ -90,7 +88,7 @@ public class Control implements Communicator {
         }
 
         public int get_degree() {
-            return joy.getPOV();
+            return joy.get_pov();
         }
     }
 
@@ -171,12 +169,12 @@ public class Control implements Communicator {
 
     /**
      * Sets the rumble on the gamepad.
-     * @see Joystick#setRumble(GenericHID.RumbleType, double)
+     * @see GenericHID#setRumble(GenericHID.RumbleType, double)
      * @param side A {@link edu.wpi.first.wpilibj.GenericHID.RumbleType} side.
      * @param value Magnitude of the rumble in [0, 1].
      */
     public void set_gamepad_rumble(GenericHID.RumbleType side, double value) {
-        _gamepad.setRumble(side, value);
+        _gamepad.set_rumble(side, value);
     }
 
     /**
@@ -221,32 +219,11 @@ public class Control implements Communicator {
         keymap = km;
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_JOYSTICK_PORT_NS",
-            "O_GAMEPAD_PORT_S"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_JOYSTICK_PORT_S":
-                entry.setDouble(RobotMap.Controllers.joystick);
-                break;
-            case "O_GAMEPAD_PORT_S":
-                entry.setDouble(RobotMap.Controllers.gamepad);
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_CURR_KEYMAP_S"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_CURR_KEYMAP_M":
-                entry.setString(keymap.toString());
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_JOYSTICK_PORT_NS", TransmitFrequency.STATIC, () -> RobotMap.Controllers.joystick);
+        comm.publish_double("O_GAMEPAD_PORT_NS", TransmitFrequency.STATIC, () -> RobotMap.Controllers.gamepad);
+        comm.publish_string("O_CURR_KEYMAP_RT", TransmitFrequency.SLOW, () -> keymap.toString());  // Set by R_SET_KEYMAP
     }
 
     @SuppressWarnings("unused")
@@ -1,27 +1,27 @@
 package frc.team7170.control;
 
-import edu.wpi.first.wpilibj.GenericHID;
+import frc.team7170.robot.Hardware;
 
 
 /**
- * Wrapper for a single axis on a given {@link GenericHID}.
+ * Wrapper for a single axis on a given {@link Hardware.HID}.
  */
 public class HIDAxisAccessor {
 
     private final int port;
-    private final GenericHID joy;
+    private final Hardware.HID joy;
     private double scale = 1.0;
     private double offset = 0.0;
 
     /**
      * @param port The port number on {@link HIDAxisAccessor#joy} to poll for the axis value.
-     * @param joy The {@link GenericHID} to poll for the axis value.
+     * @param joy The {@link Hardware.HID} to poll for the axis value.
      */
-    HIDAxisAccessor(int port, GenericHID joy) {
+    HIDAxisAccessor(int port, Hardware.HID joy) {
         this(port, joy, 1.0, 0.0);
     }
 
-    HIDAxisAccessor(int port, GenericHID joy, double scale, double offset) {
+    HIDAxisAccessor(int port, Hardware.HID joy, double scale, double offset) {
         this.port = port;
         this.joy = joy;
         this.scale = scale;
@@ -29,7 +29,7 @@ public class HIDAxisAccessor {
     }
 
     public double get() {
-        return joy.getRawAxis(port) * scale + offset;
+        return joy.get_raw_axis(port) * scale + offset;
     }
 
     public void set_scale(double scale) {
@@ -42,6 +42,6 @@ public class HIDAxisAccessor {
 
     @Override
     public String toString() {
-        return joy.getName()+"."+port;
+        return joy.get_name()+"."+port;
     }
 }
@@ -1,45 +1,45 @@
 package frc.team7170.control;
 
-import edu.wpi.first.wpilibj.GenericHID;
+import frc.team7170.robot.Hardware;
 
 
 /**
- * Wrapper for a single button on a given {@link GenericHID}.
+ * Wrapper for a single button on a given {@link Hardware.HID}.
  */
 public class HIDButtonAccessor {
 
     final int port;
-    final GenericHID joy;
+    final Hardware.HID joy;
 
     /**
      * @param port The port number on {@link HIDButtonAccessor#joy} to poll for the button state.
-     * @param joy The {@link GenericHID} to poll for the button state.
+     * @param joy The {@link Hardware.HID} to poll for the button state.
      */
-    HIDButtonAccessor(int port, GenericHID joy) {
+    HIDButtonAccessor(int port, Hardware.HID joy) {
         this.port = port;
         this.joy = joy;
     }
 
     public boolean get() {
-        return joy.getRawButton(port);
+        return joy.get_raw_button(port);
     }
 
     /**
      * Return if the button has been pressed since the last check.
      */
     public boolean get_pressed() {
-        return joy.getRawButtonPressed(port);
+        return joy.get_raw_button_pressed(port);
     }
 
     /**
      * Return if the button has been released since the last check.
      */
     public boolean get_released() {
-        return joy.getRawButtonReleased(port);
+        return joy.get_raw_button_released(port);
     }
 
     @Override
     public String toString() {
-        return joy.getName()+"."+port;
+        return joy.get_name()+"."+port;
     }
 }
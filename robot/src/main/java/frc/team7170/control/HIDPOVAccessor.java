@@ -1,12 +1,12 @@
 package frc.team7170.control;
 
-import edu.wpi.first.wpilibj.GenericHID;
+import frc.team7170.robot.Hardware;
 
 import java.util.logging.Logger;
 
 
 /**
- * Wrapper for a single POV direction on a given {@link GenericHID}.
+ * Wrapper for a single POV direction on a given {@link Hardware.HID}.
  * Works off of same interface as {@link HIDButtonAccessor}, which essentially allows for a POV direction to function
  * as a button press.
  */
@@ -18,15 +18,15 @@ public class HIDPOVAccessor extends HIDButtonAccessor {
 
     /**
      * @param degrees The POV direction to poll.
-     * @param joy The {@link GenericHID} to poll for the button state.
+     * @param joy The {@link Hardware.HID} to poll for the button state.
      */
-    HIDPOVAccessor(int degrees, GenericHID joy) {
+    HIDPOVAccessor(int degrees, Hardware.HID joy) {
         super(degrees, joy);
     }
 
     @Override
     public boolean get() {
-        return joy.getPOV() == port;
+        return joy.get_pov() == port;
     }
 
     @Override
@@ -49,6 +49,6 @@ public class HIDPOVAccessor extends HIDButtonAccessor {
 
     @Override
     public String toString() {
-        return joy.getName()+".POV"+port;
+        return joy.get_name()+".POV"+port;
     }
 }
\ No newline at end of file
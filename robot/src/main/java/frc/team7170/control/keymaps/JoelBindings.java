@@ -1,7 +1,7 @@
 package frc.team7170.control.keymaps;
 
-import edu.wpi.first.networktables.NetworkTableEntry;
 import frc.team7170.comm.Communicator;
+import frc.team7170.comm.TelemetryEntry;
 import frc.team7170.comm.TransmitFrequency;
 import frc.team7170.comm.Transmitter;
 import frc.team7170.control.Control;
@@ -33,7 +33,7 @@ public class JoelBindings extends KeyMap implements Communicator {
     @Override
     @SuppressWarnings("unused")
     @Transmitter(poll_rate = TransmitFrequency.STATIC, value = RobotMap.Communication.DB_avail_keymaps)
-    public void transmitter(NetworkTableEntry entry) {
+    public void transmitter(TelemetryEntry entry) {
         post_to_entry(entry);
     }
 }
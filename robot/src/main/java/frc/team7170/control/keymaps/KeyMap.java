@@ -1,8 +1,8 @@
 package frc.team7170.control.keymaps;
 
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.RpcAnswer;
 import frc.team7170.comm.Communicator;
+import frc.team7170.comm.TelemetryEntry;
 import frc.team7170.control.HIDButtonAccessor;
 import frc.team7170.control.HIDAxisAccessor;
 import frc.team7170.control.Control;
@@ -29,9 +29,9 @@ import java.util.HashMap;
  * the other hand, naturally requires a boolean on or off value (i.e. button input.)
  *
  * In order for each keymap to be shown on the dashboard, each keymap must be declared as a
- * {@link frc.team7170.comm.Communicator} and override {@link KeyMap#transmitter(NetworkTableEntry)}, making it a
+ * {@link frc.team7170.comm.Communicator} and override {@link KeyMap#transmitter(TelemetryEntry)}, making it a
  * {@link frc.team7170.comm.Transmitter} with the parameters suggested in the source code comment above the abstract
- * definition. Then simply call {@link KeyMap#post_to_entry(NetworkTableEntry)} with the given entry as an argument.
+ * definition. Then simply call {@link KeyMap#post_to_entry(TelemetryEntry)} with the given entry as an argument.
  * Note that the reason this cannot be handled entirely in this superclass ({@link KeyMap}) is because
  * {@link frc.team7170.comm.Communication#register_communicator(frc.team7170.comm.Communicator)} only scans for declared
  * methods, not inherited methods, and hence such a transmitter implementation here would be ignored. A possible
@@ -40,6 +40,8 @@ import java.util.HashMap;
  * inefficient), the registration for each keymap would have to happen prior to registering this class with
  * {@link frc.team7170.comm.Communication}, which would surely result in a more awkward procedure (call to
  * {@link Communicator#register_comm()} would have to be deferred until each keymap registers itself).
+ * The compile-time {@link frc.team7170.comm.CommTable}s do include inherited methods, but the per-keymap transmitter
+ * is kept so that registration still works when falling back to reflection.
  */
 public abstract class KeyMap {
 
@@ -66,7 +68,7 @@ public abstract class KeyMap {
     }
 
     /**
-     * List of keymaps that have called {@link KeyMap#post_to_entry(NetworkTableEntry)}. This allows easy lookup of
+     * List of keymaps that have called {@link KeyMap#post_to_entry(TelemetryEntry)}. This allows easy lookup of
      * all the keymaps available to be selected in the dashboard from within
      * {@link Control#rpccaller_keymap(RpcAnswer)}.
      * @see Control#rpccaller_keymap(RpcAnswer)
@@ -80,7 +82,7 @@ public abstract class KeyMap {
 
     // @SuppressWarnings("unused")
     // @Transmitter(poll_rate = TransmitFrequency.STATIC, value = RobotMap.Communication.DB_avail_keymaps)
-    public abstract void transmitter(NetworkTableEntry entry);
+    public abstract void transmitter(TelemetryEntry entry);
 
     /**
      * Constructs a string listing all the bindings for this entry and appends it to the given entry's string value.
@@ -93,7 +95,7 @@ public abstract class KeyMap {
      *      and each action and its binding is ":".
      * This string can then be parsed and displayed on the dashboard.
      */
-    final void post_to_entry(NetworkTableEntry entry) {
+    final void post_to_entry(TelemetryEntry entry) {
         if (!entry.getName().equals(RobotMap.Communication.DB_avail_keymaps)) {
             throw new RuntimeException("Entry used to transmit keymap details must be "+RobotMap.Communication.DB_avail_keymaps);
         }
@@ -0,0 +1,182 @@
+package frc.team7170.jobs;
+
+import frc.team7170.robot.RobotMap;
+import frc.team7170.util.LatencyHistogram;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+
+/**
+ * Runs the update() method of every running {@link ControlLoopJob} at a fixed rate (RobotMap.Loop.control_period_us)
+ * on a dedicated maximum priority thread.
+ *
+ * Jobs are added and removed by {@link Job} itself as they start and stop (on the main loop thread). The set of jobs is
+ * kept in a copy-on-write array so the control thread never takes a lock to iterate it; the only lock it takes is the
+ * monitor of each job while updating it.
+ */
+public class ControlExecutor {
+
+    private final static Logger LOGGER = Logger.getLogger(ControlExecutor.class.getName());
+
+    private static ControlExecutor instance = new ControlExecutor();  // Singleton
+    public static ControlExecutor get_instance() {
+        return instance;
+    }
+    private ControlExecutor() {
+        LOGGER.info("Initializing control executor.");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    private final long period_ns = 1000 * RobotMap.Loop.control_period_us;
+    private final Thread thread = new Thread(this::run_loop, "ControlExecutor");
+    private volatile Job[] jobs = new Job[0];  // Replaced (never mutated) when jobs are added or removed
+    private final LatencyHistogram timing = new LatencyHistogram("Control loop");  // Only written by the control thread
+    private volatile long overrun_count = 0;
+    private volatile Runnable pre_tick = null;  // Run at the top of each control tick while there are jobs to update
+    private volatile int sensors = 0;  // Union of the sensor groups of the jobs
+    private volatile boolean manual = false;  // While set, the control thread idles and tick() updates the jobs instead
+    private volatile Thread ticking = null;  // Thread inside tick(), if any
+
+    /**
+     * Called from {@link Job} when a control loop job starts.
+     * @param job The job to start updating.
+     */
+    synchronized void add(Job job) {
+        Job[] new_jobs = Arrays.copyOf(jobs, jobs.length + 1);
+        new_jobs[jobs.length] = job;
+        jobs = new_jobs;
+        sensors = sensors_of(new_jobs);
+    }
+
+    /**
+     * Called from {@link Job} when a control loop job finishes or is cancelled. A tick already iterating the old jobs
+     * array may still reach the job, but its update is skipped as the job is no longer running.
+     * @param job The job to stop updating.
+     */
+    synchronized void remove(Job job) {
+        for (int i = 0; i < jobs.length; i++) {
+            if (jobs[i] == job) {
+                Job[] new_jobs = new Job[jobs.length - 1];
+                System.arraycopy(jobs, 0, new_jobs, 0, i);
+                System.arraycopy(jobs, i + 1, new_jobs, i, jobs.length - i - 1);
+                jobs = new_jobs;
+                sensors = sensors_of(new_jobs);
+                return;
+            }
+        }
+    }
+
+    private static int sensors_of(Job[] jobs) {
+        int sensors = 0;
+        for (Job job : jobs) {
+            sensors |= ((ControlLoopJob) job).sensors();
+        }
+        return sensors;
+    }
+
+    /**
+     * @return Bitwise or of {@link ControlLoopJob#sensors()} over the running control loop jobs, i.e. the sensor groups
+     * the pre-tick hook should sample.
+     */
+    public int get_sensors() {
+        return sensors;
+    }
+
+    /**
+     * Set a hook run on the control thread at the top of every control tick in which there are jobs to update (e.g. to
+     * sample sensors).
+     * @param pre_tick The hook, or null for none.
+     */
+    public void set_pre_tick(Runnable pre_tick) {
+        this.pre_tick = pre_tick;
+    }
+
+    /**
+     * Stop the control thread from updating jobs, so that control ticks are only run by calling tick() (e.g. to replay
+     * a log deterministically, one control tick at a time), or go back to updating them at the control rate.
+     * @param manual Whether control ticks should only be run by tick().
+     */
+    public void set_manual(boolean manual) {
+        this.manual = manual;
+    }
+
+    /**
+     * Run a single control tick (the pre-tick hook and the update of each job) on the calling thread, which is treated
+     * as the control thread for the duration. Only allowed while set_manual(true).
+     */
+    public void tick() {
+        if (!manual) {
+            throw new RuntimeException("Control ticks can only be run by hand after set_manual(true)!");
+        }
+        ticking = Thread.currentThread();
+        try {
+            run_tick();
+        } finally {
+            ticking = null;
+        }
+    }
+
+    /**
+     * @return Whether the calling thread is the control thread (or is running a control tick with tick()).
+     */
+    public boolean is_control_thread() {
+        Thread current = Thread.currentThread();
+        return current == thread || current == ticking;
+    }
+
+    private void run_loop() {
+        long next = System.nanoTime();
+        while (true) {
+            next += period_ns;
+            long start = System.nanoTime();
+            if (!manual) {
+                run_tick();
+                timing.record(System.nanoTime() - start);
+            }
+            long now = System.nanoTime();
+            if (next - now > 0) {
+                LockSupport.parkNanos(next - now);
+            } else {
+                // Fell behind; don't try to catch up with a burst of back to back updates
+                overrun_count++;
+                next = now;
+            }
+        }
+    }
+
+    private void run_tick() {
+        Job[] jobs = this.jobs;  // Read the volatile array once
+        Runnable pre_tick = this.pre_tick;
+        if (jobs.length > 0 && pre_tick != null) {
+            try {
+                pre_tick.run();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Exception in control loop pre-tick hook: " + e);
+            }
+        }
+        for (Job job : jobs) {
+            try {
+                job._control_update();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Exception in control loop update of job " + job + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * @return A snapshot of the histogram of the time taken by each control tick.
+     */
+    public LatencyHistogram.Snapshot get_timing() {
+        return timing.snapshot();
+    }
+
+    /**
+     * @return The number of control ticks that took longer than the control period.
+     */
+    public long get_overrun_count() {
+        return overrun_count;
+    }
+}
@@ -0,0 +1,26 @@
+package frc.team7170.jobs;
+
+import frc.team7170.robot.SensorFrame;
+
+
+/**
+ * Marker interface for {@link Job}s that close a control loop and should have their update() method called by the
+ * {@link ControlExecutor} at its (much higher) fixed rate rather than once per main loop iteration.
+ *
+ * Everything else about such a job is unchanged: the {@link Dispatcher} still owns the module locks and starts, finishes,
+ * and cancels the job on the main loop thread, and is_finished() is still checked once per main loop iteration. The job
+ * lifecycle methods and update() are synchronized on the job, so update() never runs concurrently with init(),
+ * is_finished(), end(), or interrupted(); any other state shared with the rest of the robot must be safe to read from
+ * the control thread.
+ */
+public interface ControlLoopJob {
+
+    /**
+     * The control thread only samples the sensors that the running control loop jobs read; override this to say
+     * which those are for this job.
+     * @return Bitwise or of the {@link SensorFrame} sensor groups update() reads (all of them by default).
+     */
+    default int sensors() {
+        return SensorFrame.ALL;
+    }
+}
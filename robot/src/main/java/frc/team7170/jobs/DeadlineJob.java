@@ -0,0 +1,43 @@
+package frc.team7170.jobs;
+
+
+/**
+ * Runs a deadline job alongside some other jobs and finishes when the deadline job finishes, cancelling any of the
+ * others that are still running. The others may finish early on their own.
+ */
+public class DeadlineJob extends JobGroup {
+
+    public DeadlineJob(Job deadline, Job ...others) {
+        this(false, deadline, others);
+    }
+
+    public DeadlineJob(boolean interruptable, Job deadline, Job ...others) {
+        super(interruptable, prepend(deadline, others));
+    }
+
+    private static Job[] prepend(Job first, Job[] rest) {
+        Job[] jobs = new Job[rest.length + 1];
+        jobs[0] = first;
+        System.arraycopy(rest, 0, jobs, 1, rest.length);
+        return jobs;
+    }
+
+    @Override
+    protected void init() {
+        for (int i = 0; i < children.length; i++) {
+            start_child(i);
+        }
+    }
+
+    @Override
+    protected void update() {
+        for (int i = 0; i < children.length; i++) {
+            step_child(i);
+        }
+    }
+
+    @Override
+    protected boolean is_finished() {
+        return is_child_finished(0);
+    }
+}
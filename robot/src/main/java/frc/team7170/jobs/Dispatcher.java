@@ -1,10 +1,11 @@
 package frc.team7170.jobs;
 
-import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.team7170.comm.Communication;
 import frc.team7170.comm.Communicator;
 import frc.team7170.comm.TransmitFrequency;
-import frc.team7170.comm.Transmitter;
+import frc.team7170.util.LatencyHistogram;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.logging.Logger;
 
 
@@ -17,56 +18,224 @@ import java.util.logging.Logger;
  * Call register_module(Module) in the constructor of each module.
  * Call add_job(Job) to queue/run each job.
  * Call run() regularly in the robot main loop.
+ *
+ * Only the main loop (through run()) touches the queued and running jobs. add_job(Job), cancel_job(Job, boolean), and
+ * cancel_all() may be called from any thread (NetworkTables listeners, RPC callbacks, etcetera); they post a command to
+ * a lock-free inbox which run() drains, in order, at the start of each tick. Hence none of these ever block the main loop.
+ * The exception is a cancellation made on the main loop thread outside of run() (e.g. from a module's poll_controls()):
+ * it drains the inbox and cancels the job right away, so the caller can drive the job's motors as soon as it returns.
+ *
+ * Every call to a module's or job's update in run() is timed and recorded in a {@link LatencyHistogram} per module and
+ * per job class; see get_module_timings() and get_job_timings(). The times are also checked against the budgets of
+ * each module and job by the {@link LoopMonitor}.
  */
 public class Dispatcher implements Communicator {
 
     private final static Logger LOGGER = Logger.getLogger(Dispatcher.class.getName());
 
-    private static Dispatcher instance = new Dispatcher();  // Singleton
+    private static class Singleton {  // Created on first use, so instances made by tests don't create it
+        static final Dispatcher instance = new Dispatcher();
+    }
     public static Dispatcher get_instance() {
-        return instance;
+        return Singleton.instance;
     }
     private Dispatcher() {
+        this(null);
         LOGGER.info("Initializing dispatcher.");
         register_comm();
     }
 
+    /**
+     * A dispatcher of its own which isn't registered with {@link frc.team7170.comm.Communication}, for tests.
+     * @param monitor The monitor to report update times to, or null for LoopMonitor.get_instance().
+     */
+    Dispatcher(LoopMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * The maximum number of modules that can be registered. Each module is given a dense index on registration which is
+     * used as its bit in {@link Job} requirement masks and {@link Dispatcher#locked_mask}, hence the limit.
+     */
+    public static final int MAX_MODULES = Long.SIZE;
+
+    private final LoopMonitor monitor;  // Null to use LoopMonitor.get_instance(), looked up in run() so neither singleton initializes the other
     private final ArrayList<Job> queued_jobs = new ArrayList<>();
-    private final HashSet<Job> running_jobs = new HashSet<>();
-    private final HashMap<Module, Boolean> modules = new HashMap<>();  // Module-Boolean pairs where the boolean represents if the module is locked.
+    private long queue_seq = 0;  // Sequence number given to the next queued job; orders jobs across wait queues.
+    private final ArrayList<Job> candidates = new ArrayList<>();  // Scratch list for run(), kept to avoid reallocating.
+    private Job[] running_jobs = new Job[16];  // Running jobs in the order they were started; grown in start_job() if need be.
+    private int running_count = 0;
+    private final Module[] modules = new Module[MAX_MODULES];  // Registered modules, where each module's position is its index.
+    private int module_count = 0;
+    private final Module[] schedule = new Module[MAX_MODULES];  // Registered modules in rate-monotonic order (see schedule_module()).
+    private long tick = 0;  // Number of times run() has been called.
+    private volatile Thread main_thread = null;  // The thread that calls run(), once it has.
+    private boolean in_run = false;  // Whether the main thread is inside run(); only touched by the main thread.
 
-    private boolean jobs_updated = false;  // State variable to indicate whether a running job has terminated and thus queued jobs should be queried (see run()).
+    private final LatencyHistogram[] module_timings = new LatencyHistogram[MAX_MODULES];  // Indexed by module index.
+    private final HashMap<Class<? extends Job>, LatencyHistogram> job_timings = new HashMap<>();
+    private long locked_mask = 0;  // Bitmask of locked modules, where bit i represents the module at index i.
+    private long freed_mask = 0;  // Bitmask of modules freed since the wait queues were last checked (see run()).
+
+    /**
+     * Commands posted by add_job(), cancel_job(), and cancel_all() from any thread, waiting to be applied by run().
+     */
+    private final ConcurrentLinkedQueue<Command> inbox = new ConcurrentLinkedQueue<>();
+
+    /**
+     * A request made to the dispatcher which is applied on the main loop thread the next time run() is called.
+     */
+    private static final class Command {
+        enum Type {ADD, CANCEL, CANCEL_ALL}
+
+        final Type type;
+        final Job job;
+        final boolean override;
+
+        Command(Type type, Job job, boolean override) {
+            this.type = type;
+            this.job = job;
+            this.override = override;
+        }
+    }
 
     /**
      * Must be called by each class that inherits from Module, most likely in the constructor (therefore each module should be a singleton).
+     * Modules must be registered from the main thread during robot initialization.
      * @param mod The module to register
      */
-    public synchronized void register_module(Module mod) {
-        modules.putIfAbsent(mod, false);
+    public void register_module(Module mod) {
+        if (mod.get_index() >= 0) {
+            return;  // Already registered
+        }
+        if (module_count >= MAX_MODULES) {
+            throw new RuntimeException("Cannot register Module " + mod + "; the dispatcher only supports " + MAX_MODULES + " modules!");
+        }
+        mod.set_index(this, module_count);
+        module_timings[module_count] = new LatencyHistogram(mod.toString());
+        modules[module_count++] = mod;
+        schedule_module(mod);
+    }
+
+    /**
+     * Called when a {@link Module} is registered or changes its update period. Picks the module's phase if it asked the
+     * dispatcher to, and rebuilds the update schedule: modules sorted by update period, shortest first (ties are broken
+     * by registration order). Only called from the main thread.
+     * @param mod The module to (re)schedule.
+     */
+    void schedule_module(Module mod) {
+        int period = mod.get_update_period();
+        if (mod.has_auto_phase() && period > 1) {
+            // Pick the phase that coincides with the least load from the other multi-rate modules. A module with
+            // period q and phase f lands on ticks of our phase r iff r and f agree modulo gcd(period, q), and then
+            // on gcd(period, q) / q of them.
+            int best_phase = 0;
+            double best_load = Double.MAX_VALUE;
+            for (int r = 0; r < period; r++) {
+                double load = 0;
+                for (int i = 0; i < module_count; i++) {
+                    Module other = modules[i];
+                    int q = other.get_update_period();
+                    if (other == mod || q == 1) {
+                        continue;
+                    }
+                    int g = gcd(period, q);
+                    if ((r - other.get_update_phase()) % g == 0) {
+                        load += (double) g / q;
+                    }
+                }
+                if (load < best_load) {
+                    best_load = load;
+                    best_phase = r;
+                }
+            }
+            mod.set_update_phase(best_phase);
+        }
+
+        // Insertion sort is stable and there are only a handful of modules
+        for (int i = 0; i < module_count; i++) {
+            Module m = modules[i];
+            int j = i - 1;
+            while (j >= 0 && schedule[j].get_update_period() > m.get_update_period()) {
+                schedule[j + 1] = schedule[j];
+                j--;
+            }
+            schedule[j + 1] = m;
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
     }
 
     /**
-     * Run a {@link Job} if its required {@link Module}s are free. Otherwise queue the job and run it
-     * when the module locks are freed. Note that the priority of the jobs is the order they are added in.
+     * Run a {@link Job} if its required {@link Module}s are free. Otherwise queue the job and run it as soon as all of
+     * its module locks are free. Note that the priority of the jobs is the order they are added in: when modules are
+     * freed, the queued jobs waiting on them are checked oldest first, so an older job gets a module before a newer one
+     * if both can run. A queued job never waits behind an older job that is blocked on some other module.
+     * This is safe to call from any thread; the job is actually started or queued the next time run() is called.
      * @param job The job to run/queue.
      */
-    public synchronized void add_job(Job job, Module ...mods) {
+    public void add_job(Job job, Module ...mods) {
         job.requires(mods);  // TODO: temp
+        inbox.offer(new Command(Command.Type.ADD, job, false));
+    }
+
+    /**
+     * Start or queue the given {@link Job}. Only called from the main loop while draining the inbox.
+     * @param job The job to run/queue.
+     */
+    private void submit_job(Job job) {
+        long mask = job.get_requirement_mask();
         if (can_run_job(job)) {
             start_job(job);
         } else {
+            job.queue_seq = queue_seq++;
             queued_jobs.add(job);
+            for (long bits = mask; bits != 0; bits &= bits - 1) {
+                modules[Long.numberOfTrailingZeros(bits)].wait_queue.add(job);
+            }
         }
     }
 
     /**
      * Updates every registered {@link Module}, updates running {@link Job}, and runs queued jobs if module locks are free.
-     * This should be called regularly in the robot main loop.
+     * This should be called regularly in the robot main loop, and only from the main loop. Note that this is not
+     * synchronized and that a steady-state call (i.e. one where no job starts or finishes) makes no allocations.
      */
-    public synchronized void run() {
-        // Update each module
-        modules.forEach((Module mod, Boolean locked) -> {
+    public void run() {
+        main_thread = Thread.currentThread();
+        in_run = true;
+        try {
+            run_tick();
+        } finally {
+            in_run = false;
+        }
+    }
+
+    private void run_tick() {
+        // Apply the jobs added or cancelled since the last tick, in the order they were requested
+        drain_inbox();
+
+        LoopMonitor monitor = this.monitor != null ? this.monitor : LoopMonitor.get_instance();
+
+        // Update each module due this tick in rate-monotonic order, skipping non-critical ones if this tick has
+        // already overrun
+        for (int i = 0; i < module_count; i++) {
+            Module mod = schedule[i];
+            if (tick % mod.get_update_period() != mod.get_update_phase() || monitor.should_skip(mod)) {
+                continue;
+            }
+            long start = System.nanoTime();
             mod._update();
+            long elapsed = System.nanoTime() - start;
+            module_timings[mod.get_index()].record(elapsed);
+            monitor.check(mod, elapsed, mod.get_time_budget_ns());
             /*
             if (mod.get_current_job() == null && mod.get_default_job() != null) {
                 // Start the default job without claiming the lock so new jobs with this module as a requirement can override it
@@ -78,138 +247,336 @@ public class Dispatcher implements Communicator {
                 running_jobs.remove(mod.get_default_job());
             }
             */
-        });
+        }
 
-        // Update each job and remove it if it's finished
-        for (Iterator<Job> iter = running_jobs.iterator(); iter.hasNext();) {
-            Job job = iter.next();
-            if (job._update()) {  // returns true if the job is finished
-                jobs_updated = true;
+        // Update each job and remove it if it's finished, compacting the running jobs array in place
+        int kept = 0;
+        for (int i = 0; i < running_count; i++) {
+            Job job = running_jobs[i];
+            long start = System.nanoTime();
+            boolean finished = job._update();
+            long elapsed = System.nanoTime() - start;
+            job.timing.record(elapsed);
+            monitor.check(job, elapsed, job.get_time_budget_ns());
+            if (finished) {
                 free_module_locks(job);
-                iter.remove();
+            } else {
+                running_jobs[kept++] = job;
             }
         }
-
-        // Run new jobs if required module locks are free
-        if (jobs_updated) {  // Only iterate through the queued jobs if a change to the running ones has occurred
-            for (ListIterator<Job> iter = queued_jobs.listIterator(); iter.hasNext();) {
-                Job job = iter.next();
-                if (can_run_job(job)) {  // If the necessary module locks are free, start the highest priority (dictated by order added to list) job
-                    start_job(job);
-                    iter.remove();
-                }
-            }
+        for (int i = kept; i < running_count; i++) {
+            running_jobs[i] = null;  // Don't hold on to finished jobs
         }
+        running_count = kept;
 
-        jobs_updated = false;  // Reset the jobs_updated so we continue to iterate through the queued_jobs only if a running job has terminated
+        // Run queued jobs if required module locks are free. Only the jobs waiting on modules that were freed since the
+        // last check can possibly have become runnable; they're checked oldest first, as if scanning the whole queue.
+        if (freed_mask != 0) {
+            start_freed_jobs();
+        }
+        tick++;
     }
 
     /**
-     * Called internally to claim {@link Module} locks, populate the running_jobs list, and start a {@link Job}.
+     * Called internally to claim {@link Module} locks, populate the running_jobs array, and start a {@link Job}.
      * @param job The job to start.
      */
-    private synchronized void start_job(Job job) {
-        // Loop through the job's requirements and claim its required modules
-        for (Module mod : job.get_requirements()) {
-            if (!mod.claim_lock(job)) {
-                // If the dispatcher handles jobs & modules correctly, this should never happen.
-                // TODO: this is moderately gross.
-                throw new RuntimeException("Job " + job + " attempted to claim Module lock from " + mod + " but Job " + mod.get_current_job() + " owns the lock!");
-            }
-            modules.replace(mod, true);
+    private void start_job(Job job) {
+        long mask = job.get_requirement_mask();
+        if ((locked_mask & mask) != 0) {
+            // If the dispatcher handles jobs & modules correctly, this should never happen.
+            // TODO: this is moderately gross.
+            Module mod = modules[Long.numberOfTrailingZeros(locked_mask & mask)];
+            throw new RuntimeException("Job " + job + " attempted to claim Module lock from " + mod + " but Job " + mod.get_current_job() + " owns the lock!");
+        }
+        locked_mask |= mask;
+        // Loop through the set bits of the job's requirements and assign the job to each required module
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            modules[Long.numberOfTrailingZeros(bits)].claim_lock(job);
         }
         LOGGER.fine("Starting job: " + job.toString());
-        running_jobs.add(job);
+        if (running_count == running_jobs.length) {
+            running_jobs = Arrays.copyOf(running_jobs, 2 * running_jobs.length);
+        }
+        running_jobs[running_count++] = job;
+        job.timing = get_job_timing(job.getClass());
         job.start();
     }
 
+    /**
+     * @param cls The class of the job.
+     * @return The histogram for the given job class, created if it doesn't exist yet.
+     */
+    private LatencyHistogram get_job_timing(Class<? extends Job> cls) {
+        LatencyHistogram timing = job_timings.get(cls);
+        if (timing == null) {
+            // Anonymous classes have no simple name
+            timing = new LatencyHistogram(cls.getSimpleName().isEmpty() ? cls.getName() : cls.getSimpleName());
+            job_timings.put(cls, timing);
+        }
+        return timing;
+    }
+
+    /**
+     * @return The number of times run() has been called.
+     */
+    public long get_tick() {
+        return tick;
+    }
+
+    /**
+     * @return Bitmask of the modules locked by running jobs, where bit i represents the module at index i.
+     */
+    public long get_locked_mask() {
+        return locked_mask;
+    }
+
+    /**
+     * @return The number of running jobs.
+     */
+    public int get_running_count() {
+        return running_count;
+    }
+
+    /**
+     * Intended to be called from the main loop (e.g. from a transmitter); from other threads the results may be
+     * slightly inconsistent.
+     * @return A snapshot of the update time histogram of each registered {@link Module}, in registration order.
+     */
+    public ArrayList<LatencyHistogram.Snapshot> get_module_timings() {
+        ArrayList<LatencyHistogram.Snapshot> snapshots = new ArrayList<>(module_count);
+        for (int i = 0; i < module_count; i++) {
+            snapshots.add(module_timings[i].snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Must be called from the main loop (e.g. from a transmitter).
+     * @return A snapshot of the update time histogram of each {@link Job} class that has been ran.
+     */
+    public ArrayList<LatencyHistogram.Snapshot> get_job_timings() {
+        ArrayList<LatencyHistogram.Snapshot> snapshots = new ArrayList<>(job_timings.size());
+        for (LatencyHistogram timing : job_timings.values()) {
+            snapshots.add(timing.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Discard all recorded module and job update times. Must be called from the main loop.
+     */
+    public void reset_timings() {
+        for (int i = 0; i < module_count; i++) {
+            module_timings[i].reset();
+        }
+        for (LatencyHistogram timing : job_timings.values()) {
+            timing.reset();
+        }
+    }
+
     /**
      * Essentially the opposite of start_job(), except, because a peaceful termination of a {@link Job} ends itself,
-     * we only free {@link Module} locks. The job must also be removed from the {@link Dispatcher#running_jobs} set
-     * (this is not done inside this function because if the running_jobs set is begin iterated over when this is
-     * called, a {@link ConcurrentModificationException} results.
+     * we only free {@link Module} locks. The job must also be removed from the {@link Dispatcher#running_jobs} array
+     * (this is not done inside this function because run() compacts the array in place while iterating it).
      * @param job The job to free locks from.
      */
-    private synchronized void free_module_locks(Job job) {
-        for (Module mod: job.get_requirements()) {
-            mod.free_lock();
-            modules.replace(mod, false);
+    private void free_module_locks(Job job) {
+        long mask = job.get_requirement_mask();
+        locked_mask &= ~mask;
+        freed_mask |= mask;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            modules[Long.numberOfTrailingZeros(bits)].free_lock();
         }
     }
 
     /**
-     * Checks if the given {@link Job} can be ran or not by iterating its requirements and comparing to the state of each {@link Module}.
+     * Checks if the given {@link Job} can be ran or not by comparing its requirement mask to the mask of locked {@link Module}s.
      * @param job The job to check for conflicts on.
      * @return Whether or not the job can be ran.
      */
-    private synchronized boolean can_run_job(Job job) {
-        for (Module mod: job.get_requirements()) {
-            if (modules.get(mod)) {
-                return false;
+    private boolean can_run_job(Job job) {
+        return (locked_mask & job.get_requirement_mask()) == 0;
+    }
+
+    /**
+     * Starts every queued {@link Job} waiting on a {@link Module} in freed_mask whose modules are all free, oldest
+     * first. Every other queued job is still blocked by a module that hasn't been freed since it was last checked.
+     * Only called from run(), and only when a job has finished or been cancelled.
+     */
+    private void start_freed_jobs() {
+        for (long bits = freed_mask; bits != 0; bits &= bits - 1) {
+            candidates.addAll(modules[Long.numberOfTrailingZeros(bits)].wait_queue);
+        }
+        freed_mask = 0;
+        candidates.sort((a, b) -> Long.compare(a.queue_seq, b.queue_seq));
+        Job prev = null;
+        for (Job job : candidates) {
+            if (job != prev && can_run_job(job)) {  // A job waiting on several freed modules appears once per module
+                dequeue_job(job);
+                start_job(job);
+            }
+            prev = job;
+        }
+        candidates.clear();
+    }
+
+    /**
+     * Removes the given {@link Job} from the wait queue of each of its required {@link Module}s.
+     * @param job The queued job to remove.
+     */
+    private void dequeue_job(Job job) {
+        for (long bits = job.get_requirement_mask(); bits != 0; bits &= bits - 1) {
+            modules[Long.numberOfTrailingZeros(bits)].wait_queue.remove(job);
+        }
+        queued_jobs.remove(job);
+    }
+
+    /**
+     * Applies every command in the inbox. Only called from the main loop in run().
+     */
+    private void drain_inbox() {
+        Command cmd;
+        while ((cmd = inbox.poll()) != null) {
+            switch (cmd.type) {
+                case ADD:
+                    submit_job(cmd.job);
+                    break;
+                case CANCEL:
+                    cancel_running_job(cmd.job, cmd.override);
+                    break;
+                case CANCEL_ALL:
+                    cancel_all_jobs();
+                    break;
             }
         }
-        return true;
     }
 
     /**
-     * Forcefully {@link Job#cancel(boolean)} the given job.
+     * Forcefully {@link Job#cancel(boolean)} the given job. This is safe to call from any thread. On the main loop
+     * thread outside of run(), the job is cancelled before this returns, after the commands posted before it (e.g. the
+     * add_job() of this very job) have been applied; once it returns, the job no longer updates on either thread.
+     * Anywhere else (including from within run()), the cancellation is applied the next time run() is called.
+     * Note that only running jobs can be cancelled.
+     * @param job The job to cancel.
+     * @param override Whether or not to override the job's interruptable attribute.
+     * @return Whether the job was cancelled now; false if it wasn't running or if the cancellation was deferred to run().
+     */
+    public boolean cancel_job(Job job, boolean override) {
+        if (!can_apply_now()) {
+            inbox.offer(new Command(Command.Type.CANCEL, job, override));
+            return false;
+        }
+        drain_inbox();
+        return cancel_running_job(job, override);
+    }
+
+    /**
+     * Forcefully {@link Job#cancel(boolean)} every job. This is safe to call from any thread. As with cancel_job(), on
+     * the main loop thread outside of run() every job is cancelled before this returns; anywhere else, the
+     * cancellation is applied the next time run() is called.
+     */
+    public void cancel_all() {
+        if (!can_apply_now()) {
+            inbox.offer(new Command(Command.Type.CANCEL_ALL, null, true));
+            return;
+        }
+        drain_inbox();
+        cancel_all_jobs();
+    }
+
+    /**
+     * @return Whether a cancellation can be applied by the calling thread right away, i.e. whether it is the main loop
+     * thread and isn't inside run() (where the running jobs are being iterated).
+     */
+    private boolean can_apply_now() {
+        return Thread.currentThread() == main_thread && !in_run;
+    }
+
+    /**
+     * Cancels the given running {@link Job} and frees its module locks. Only called from the main loop.
      * @param job The job to cancel.
      * @param override Whether or not to override the job's interruptable attribute.
-     * @return Whether or not the cancellation was successful. This will always be true if override is true.
+     * @return Whether the job was cancelled.
      */
-    public synchronized boolean cancel_job(Job job, boolean override) {
+    private boolean cancel_running_job(Job job, boolean override) {
+        // The job is unregistered from the ControlExecutor by cancel(), before its module locks are freed
         if (job.cancel(override)) {
             LOGGER.fine("Cancelling job: "+job.toString());
             free_module_locks(job);
-            running_jobs.remove(job);
+            remove_running_job(job);
             return true;
         }
         return false;
     }
 
     /**
-     * Forcefully {@link Job#cancel(boolean)} every job.
+     * Cancels every queued and running {@link Job}. Only called from the main loop.
      */
-    public synchronized void cancel_all() {
+    private void cancel_all_jobs() {
         LOGGER.fine("Cancelling all jobs.");
         queued_jobs.clear();  // Clear the queued jobs.
-        for (Iterator<Job> iter = running_jobs.iterator(); iter.hasNext();) {
-            Job job = iter.next();
+        for (int i = 0; i < module_count; i++) {
+            modules[i].wait_queue.clear();
+        }
+        for (int i = 0; i < running_count; i++) {
+            Job job = running_jobs[i];
+            job.cancel(true);  // Before freeing the locks, so a control loop job never updates a module it no longer holds
             free_module_locks(job);
-            job.cancel(true);
-            iter.remove();
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_RUNNING_JOBS_NT",
-            "O_QUEUED_JOBS_NT"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_RUNNING_JOBS_NT":
-                String[] running_strs = new String[running_jobs.size()];
-                Iterator running_iter = running_jobs.iterator();
-                for (int i = 0; i < running_jobs.size(); i++) {
-                    if (!running_iter.hasNext()) {
-                        break;
-                    }
-                    running_strs[i] = running_iter.next().toString();
-                }
-                entry.setStringArray(running_strs);
-                break;
-            case "O_QUEUED_JOBS_NT":
-                String[] queued_strs = new String[queued_jobs.size()];
-                Iterator queued_iter = queued_jobs.iterator();
-                for (int i = 0; i < queued_jobs.size(); i++) {
-                    if (!queued_iter.hasNext()) {
-                        break;
-                    }
-                    queued_strs[i] = queued_iter.next().toString();
-                }
-                entry.setStringArray(queued_strs);
+            running_jobs[i] = null;
+        }
+        running_count = 0;
+    }
+
+    /**
+     * Removes the given {@link Job} from the running_jobs array, preserving the order of the remaining jobs.
+     * @param job The job to remove.
+     */
+    private void remove_running_job(Job job) {
+        for (int i = 0; i < running_count; i++) {
+            if (running_jobs[i] == job) {
+                System.arraycopy(running_jobs, i + 1, running_jobs, i, running_count - i - 1);
+                running_jobs[--running_count] = null;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_string_array("O_RUNNING_JOBS_NT", TransmitFrequency.SLOW, this::running_job_strings);
+        comm.publish_string_array("O_QUEUED_JOBS_NT", TransmitFrequency.SLOW, this::queued_job_strings);
+        comm.publish_string_array("O_MODULE_TIMINGS_NT", TransmitFrequency.SLOW,
+                () -> snapshots_to_strings(get_module_timings()));
+        comm.publish_string_array("O_JOB_TIMINGS_NT", TransmitFrequency.SLOW,
+                () -> snapshots_to_strings(get_job_timings()));
+    }
+
+    private String[] running_job_strings() {
+        String[] strs = new String[running_count];
+        for (int i = 0; i < running_count; i++) {
+            strs[i] = running_jobs[i].toString();
+        }
+        return strs;
+    }
+
+    private String[] queued_job_strings() {
+        String[] strs = new String[queued_jobs.size()];
+        Iterator queued_iter = queued_jobs.iterator();
+        for (int i = 0; i < strs.length; i++) {
+            if (!queued_iter.hasNext()) {
                 break;
+            }
+            strs[i] = queued_iter.next().toString();
+        }
+        return strs;
+    }
+
+    private static String[] snapshots_to_strings(ArrayList<LatencyHistogram.Snapshot> snapshots) {
+        String[] strs = new String[snapshots.size()];
+        for (int i = 0; i < strs.length; i++) {
+            strs[i] = snapshots.get(i).toString();
         }
+        return strs;
     }
 }
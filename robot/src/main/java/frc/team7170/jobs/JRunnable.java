@@ -1,5 +1,7 @@
 package frc.team7170.jobs;
 
+import frc.team7170.util.Clock;
+
 
 /**
  * Convert given {@link Runnable} objects and stall time into a {@link Job} with the given required {@link Module}s.
@@ -31,7 +33,7 @@ public class JRunnable extends Job {
 
     @Override
     protected void init() {
-        start_time = System.currentTimeMillis();
+        start_time = Clock.get_instance().millis();
         if (rinit != null) {
             rinit.run();
         }
@@ -46,7 +48,7 @@ public class JRunnable extends Job {
 
     @Override
     protected boolean is_finished() {
-        return System.currentTimeMillis() >= start_time + stall_ms;
+        return Clock.get_instance().millis() >= start_time + stall_ms;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package frc.team7170.jobs;
 
+import frc.team7170.util.LatencyHistogram;
 import java.util.HashSet;
 
 
@@ -15,6 +16,7 @@ import java.util.HashSet;
  * Call requires with all the modules this job uses otherwise two jobs might try to simultaneously change motor speeds on the same motors, for example.
  * Override the init, update, is_finished, end, and interrupted methods appropriately.
  * All classes which inherit from Job should be prefixed with "J..."
+ * Implement {@link ControlLoopJob} if update() closes a control loop and should run at the control thread's rate.
  */
 public abstract class Job {
 
@@ -23,18 +25,27 @@ public abstract class Job {
     private boolean interruptable = false;  // If this job is interruptable
     private HashSet<Module> disabled_parents = new HashSet<>();  // Set of currently disabled parents to determine if this job should update
     private HashSet<Module> requirements = new HashSet<>();  // Set of required modules for this job
+    private long requirement_mask = 0;  // Bitmask of required modules, indexed by Module#get_index()
+    private long time_budget_ns = 0;  // Time budget of a single update in nanoseconds (0 for no budget)
+    long queue_seq = -1;  // Order in which the dispatcher queued this job, if it had to wait
+
+    LatencyHistogram timing;  // Histogram for this job's class, assigned by the dispatcher when the job is started
 
     /**
      * Register a {@link Module} or modules that this job requires. This ensures that upon the execution of this job,
      * the necessary module locks will be claimed. It is recommended that this method be called appropriately
-     * in the constructor of each job object.
+     * in the constructor of each job object. Each module must already be registered with the {@link Dispatcher}.
      * @param mods Modules to set as required.
      * @return Whether the module was successfully added or not.
      */
     protected final boolean requires(Module...mods) {
         if (!running) {  // Disallow changing the required jobs after this job has started running
             for (Module mod: mods) {
+                if (mod.get_index() < 0) {
+                    throw new RuntimeException("Job " + this + " requires Module " + mod + " but it is not registered with the dispatcher!");
+                }
                 requirements.add(mod);
+                requirement_mask |= mod.get_mask();
                 if (!mod.get_enabled()) {  // If one of the modules being added is disabled, append it to the disabled_parents set
                     disabled_parents.add(mod);
                 }
@@ -46,24 +57,30 @@ public abstract class Job {
     /**
      * Method called from {@link Dispatcher} to start a job.
      */
-    void start() {
+    synchronized void start() {
         // Disallow running this method if it's already been started. A consequence of this is that jobs are not recyclable.
         // If is_finished() == true, it's expected that the job is to be garbage collected; it no longer has any purpose.
         if (!running && !started) {
             running = true;
             started = true;  // This second state variable is required because running is set back to false when the job terminates.
             init();  // Call the user-defined init method.
+            if (this instanceof ControlLoopJob) {
+                ControlExecutor.get_instance().add(this);
+            }
         }
     }
 
     /**
-     * Cancel the job (not peaceful).
+     * Cancel the job (not peaceful). A {@link ControlLoopJob} is unregistered from the {@link ControlExecutor} before
+     * this returns, and any control update in progress finishes first (both are synchronized on the job), so once this
+     * returns true update() is never called again.
      * @param override Whether or not to override this jobs interruptability.
      * @return If cancelling the job was successful.
      */
-    boolean cancel(boolean override) {
+    synchronized boolean cancel(boolean override) {
         if (running && (interruptable || override)) {
             running = false;
+            stop_control_updates();
             interrupted();  // Forced termination
             return true;
         }
@@ -74,18 +91,36 @@ public abstract class Job {
      * Called from within {@link Dispatcher}. Updates the job and peacefully terminates if the job is finished.
      * @return If the job finished peacefully.
      */
-    boolean _update() {
-        if (is_updating()) {  // Only update if running and all required modules are enabled.
+    synchronized boolean _update() {
+        // Only update if running and all required modules are enabled. Control loop jobs are updated by the
+        // ControlExecutor instead.
+        if (is_updating() && !(this instanceof ControlLoopJob)) {
             update();
         }
         if (is_finished()) {
             running = false;
+            stop_control_updates();
             end();  // Peaceful termination
             return true;
         }
         return false;
     }
 
+    /**
+     * Called from {@link ControlExecutor} on the control thread to update a {@link ControlLoopJob}.
+     */
+    synchronized void _control_update() {
+        if (is_updating()) {
+            update();
+        }
+    }
+
+    private void stop_control_updates() {
+        if (this instanceof ControlLoopJob) {
+            ControlExecutor.get_instance().remove(this);
+        }
+    }
+
     /**
      * @return If this job is running.
      */
@@ -119,6 +154,22 @@ public abstract class Job {
         return !running;
     }
 
+    /**
+     * Set how long a single update of this job is expected to take at most. If it takes longer, the
+     * {@link LoopMonitor} records an overrun naming this job.
+     * @param budget_us The budget in microseconds, or 0 for no budget.
+     */
+    protected final void set_time_budget_us(long budget_us) {
+        time_budget_ns = 1000 * budget_us;
+    }
+
+    /**
+     * @return The time budget of a single update in nanoseconds, or 0 if this job has no budget.
+     */
+    public final long get_time_budget_ns() {
+        return time_budget_ns;
+    }
+
     /**
      * Check if this job requires the given {@link Module}.
      * @param mod The module to check for dependency on.
@@ -135,13 +186,21 @@ public abstract class Job {
         return requirements;
     }
 
+    /**
+     * @return The bitmask of all the required {@link Module}s for this job, where bit i is set if the module with
+     * dispatcher index i is required.
+     */
+    final long get_requirement_mask() {
+        return requirement_mask;
+    }
+
     /**
      * Called from within {@link Module}s to signal when they changed from enabled to disabled or vice versa.
      * This makes the job only run when all its parents are enabled.
      * @param mod The module having its state changed.
      * @param disabled True if the module is being disabled.
      */
-    void signal_parent_state_change(Module mod, boolean disabled) {
+    synchronized void signal_parent_state_change(Module mod, boolean disabled) {
         if (disabled) {
             disabled_parents.add(mod);
         } else {
@@ -155,7 +214,8 @@ public abstract class Job {
     protected void init() {}
 
     /**
-     * Override this with any tasks that need to be updated frequently. Called every time {@link Dispatcher#run()} is called.
+     * Override this with any tasks that need to be updated frequently. Called every time {@link Dispatcher#run()} is called,
+     * or by the {@link ControlExecutor} if this job implements {@link ControlLoopJob}.
      * This is required.
      */
     protected abstract void update();
@@ -191,13 +251,12 @@ public abstract class Job {
      * @return  If there are any conflicts (true == yes).
      */
     public static boolean conflicts(Job ...jobs) {
-        HashSet<Module> req = new HashSet<>();
+        long req = 0;
         for (Job job: jobs) {
-            for (Module mod: job.requirements) {
-                if (!req.add(mod)) {
-                    return true;
-                }
+            if ((req & job.requirement_mask) != 0) {
+                return true;
             }
+            req |= job.requirement_mask;
         }
         return false;
     }
@@ -211,69 +270,9 @@ public abstract class Job {
      * @param jobs Set of jobs to be ran in parallel.
      * @param interruptable Whether the meshed job is interruptable or not.
      * @return The meshed job.
+     * @see ParallelJob
      */
     public static Job mesh(HashSet<Job> jobs, boolean interruptable) {
-        Job meshed = new Job() {
-            @Override
-            void start() {
-                super.start();
-                for (Job job : jobs) {
-                    job.start();
-                }
-            }
-
-            @Override
-            boolean cancel(boolean override) {
-                if (super.cancel(override)) {
-                    for (Job job : jobs) {
-                        job.cancel(true);
-                    }
-                    return true;
-                }
-                return false;
-            }
-
-            @Override
-            boolean _update() {
-                if (is_updating()) {
-                    for (Job job : jobs) {
-                        job._update();
-                    }
-                }
-                return super._update();
-            }
-
-            @Override
-            protected void init() {}
-
-            @Override
-            protected void update() {}
-
-            @Override
-            protected boolean is_finished() {
-                for (Job job : jobs) {
-                    if (!job.is_finished()) {
-                        return false;
-                    }
-                }
-                return true;
-            }
-
-            @Override
-            protected void end() {}
-
-            @Override
-            protected void interrupted() {}
-
-            @Override
-            public String toString() {
-                return "Meshed job group.";
-            }
-        };
-        for (Job job : jobs) {
-            meshed.requires((Module[]) job.requirements.toArray());
-        }
-        meshed.set_interruptable(interruptable);
-        return meshed;
+        return new ParallelJob(interruptable, jobs.toArray(new Job[jobs.size()]));
     }
 }
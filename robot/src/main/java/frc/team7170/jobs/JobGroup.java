@@ -0,0 +1,102 @@
+package frc.team7170.jobs;
+
+import java.util.Arrays;
+
+
+/**
+ * Base class for {@link Job}s composed of other jobs (children). A group requires the union of its children's
+ * {@link Module}s, computed once at construction, so the {@link Dispatcher} locks all of them for the whole life of the
+ * group. The children are stepped from within the group's own update, so they must not also be added to the dispatcher.
+ * Like any other job, a child may only be used once, and hence only in one group.
+ *
+ * Stepping the children never allocates. When a group ends or is interrupted, any children that were started but have
+ * not finished are cancelled.
+ *
+ * @see SequentialJob
+ * @see ParallelJob
+ * @see RaceJob
+ * @see DeadlineJob
+ */
+public abstract class JobGroup extends Job {
+
+    protected final Job[] children;
+    private final boolean[] finished;  // Whether each child has finished (or was cancelled)
+
+    /**
+     * @param interruptable Whether the group is interruptable.
+     * @param children The jobs in this group.
+     */
+    protected JobGroup(boolean interruptable, Job ...children) {
+        this.children = children;
+        finished = new boolean[children.length];
+        for (Job child : children) {
+            requires(child.get_requirements().toArray(new Module[0]));
+        }
+        set_interruptable(interruptable);
+    }
+
+    /**
+     * Start the child at the given index.
+     * @param i The index of the child.
+     */
+    protected final void start_child(int i) {
+        children[i].start();
+    }
+
+    /**
+     * Update the child at the given index unless it has already finished.
+     * @param i The index of the child.
+     * @return Whether the child has finished.
+     */
+    protected final boolean step_child(int i) {
+        if (!finished[i]) {
+            finished[i] = children[i]._update();
+        }
+        return finished[i];
+    }
+
+    /**
+     * @param i The index of the child.
+     * @return Whether the child at the given index has finished.
+     */
+    protected final boolean is_child_finished(int i) {
+        return finished[i];
+    }
+
+    /**
+     * Forcefully cancel every child that hasn't finished. Children that were never started are simply skipped.
+     */
+    protected final void cancel_children() {
+        for (int i = 0; i < children.length; i++) {
+            if (!finished[i]) {
+                children[i].cancel(true);
+                finished[i] = true;
+            }
+        }
+    }
+
+    @Override
+    synchronized void signal_parent_state_change(Module mod, boolean disabled) {
+        super.signal_parent_state_change(mod, disabled);
+        for (Job child : children) {
+            if (child.does_require(mod)) {
+                child.signal_parent_state_change(mod, disabled);
+            }
+        }
+    }
+
+    @Override
+    protected void end() {
+        cancel_children();
+    }
+
+    @Override
+    protected void interrupted() {
+        cancel_children();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + Arrays.toString(children);
+    }
+}
@@ -0,0 +1,191 @@
+package frc.team7170.jobs;
+
+import frc.team7170.comm.Communication;
+import frc.team7170.comm.Communicator;
+import frc.team7170.comm.TransmitFrequency;
+import frc.team7170.util.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+
+/**
+ * Watches the timing of the robot main loop. Each iteration should be bracketed by calls to loop_start() and
+ * loop_end(); loop_start() may be called more than once per iteration (e.g. from both the mode-specific periodic method
+ * and robotPeriodic()) and only the first call counts.
+ *
+ * The {@link Dispatcher} reports the time of each {@link Module} and {@link Job} update to this monitor. If a module or
+ * job takes longer than its declared time budget (see {@link Module#set_time_budget_us(long)} and
+ * {@link Job#set_time_budget_us(long)}), or the whole iteration takes longer than the loop period, an overrun is
+ * recorded in a fixed size ring buffer. Recording never allocates; the names of the culprits are only resolved when the
+ * overruns are read with get_overruns().
+ *
+ * Optionally, once an iteration has overrun (either the loop period has elapsed or something blew its budget),
+ * non-critical modules (see {@link Module#set_critical(boolean)}) are skipped for the rest of that iteration.
+ */
+public class LoopMonitor implements Communicator {
+
+    private final static Logger LOGGER = Logger.getLogger(LoopMonitor.class.getName());
+
+    private static class Singleton {  // Created on first use, so instances made by tests don't create it
+        static final LoopMonitor instance = new LoopMonitor();
+    }
+    public static LoopMonitor get_instance() {
+        return Singleton.instance;
+    }
+    private LoopMonitor() {
+        LOGGER.info("Initializing loop monitor.");
+        register_comm();
+    }
+
+    /**
+     * A monitor of its own which isn't registered with {@link frc.team7170.comm.Communication}, for tests.
+     * @param period_us The nominal loop period in microseconds.
+     */
+    LoopMonitor(long period_us) {
+        set_period_us(period_us);
+    }
+
+    /**
+     * Number of overruns kept in the ring buffer; older ones are overwritten.
+     */
+    public static final int OVERRUN_CAPACITY = 64;
+
+    private final long epoch = System.nanoTime();  // Overrun timestamps are relative to this
+    private long period_ns = 20_000_000;  // IterativeRobot default period
+    private boolean skip_noncritical = false;
+
+    private long loop_start_ns = 0;  // Start of the current iteration, or 0 if not inside an iteration
+    private boolean tick_overrun = false;  // Whether something in the current iteration overran
+    private final LatencyHistogram loop_timing = new LatencyHistogram("Loop");
+
+    // Ring buffer of overruns, stored as parallel arrays so recording doesn't allocate
+    private final long[] overrun_times = new long[OVERRUN_CAPACITY];
+    private final long[] overrun_elapsed = new long[OVERRUN_CAPACITY];
+    private final long[] overrun_budgets = new long[OVERRUN_CAPACITY];
+    private final Object[] overrun_sources = new Object[OVERRUN_CAPACITY];  // Module, Job, or null for the whole loop
+    private int overrun_head = 0;  // Index the next overrun is written to
+    private int overrun_size = 0;
+    private long overrun_count = 0;
+
+    /**
+     * @param period_us The nominal loop period in microseconds; an iteration taking longer than this is an overrun.
+     */
+    public void set_period_us(long period_us) {
+        period_ns = 1000 * period_us;
+    }
+
+    /**
+     * @param skip Whether to skip non-critical modules for the rest of an iteration once it has overrun.
+     */
+    public void set_skip_noncritical(boolean skip) {
+        skip_noncritical = skip;
+    }
+
+    /**
+     * Mark the start of a main loop iteration. Calls after the first in a given iteration have no effect.
+     * @return Whether this call started a new iteration.
+     */
+    public boolean loop_start() {
+        if (loop_start_ns != 0) {
+            return false;
+        }
+        loop_start_ns = System.nanoTime();
+        tick_overrun = false;
+        return true;
+    }
+
+    /**
+     * Mark the end of a main loop iteration and record an overrun if it took longer than the loop period.
+     */
+    public void loop_end() {
+        if (loop_start_ns == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - loop_start_ns;
+        loop_timing.record(elapsed);
+        if (elapsed > period_ns) {
+            record_overrun(null, now, elapsed, period_ns);
+        }
+        loop_start_ns = 0;
+    }
+
+    /**
+     * Called from {@link Dispatcher#run()} after each module or job update.
+     * @param source The {@link Module} or {@link Job} that was updated.
+     * @param elapsed The time the update took in nanoseconds.
+     * @param budget The time budget of the source in nanoseconds, or 0 if it has none.
+     */
+    void check(Object source, long elapsed, long budget) {
+        if (budget > 0 && elapsed > budget) {
+            record_overrun(source, System.nanoTime(), elapsed, budget);
+            tick_overrun = true;
+        }
+    }
+
+    /**
+     * Called from {@link Dispatcher#run()} before each module update.
+     * @param mod The module about to be updated.
+     * @return Whether the module should be skipped for the rest of this iteration.
+     */
+    boolean should_skip(Module mod) {
+        if (!skip_noncritical || mod.is_critical() || loop_start_ns == 0) {
+            return false;
+        }
+        if (!tick_overrun && System.nanoTime() - loop_start_ns > period_ns) {
+            tick_overrun = true;
+        }
+        return tick_overrun;
+    }
+
+    private void record_overrun(Object source, long now, long elapsed, long budget) {
+        overrun_times[overrun_head] = now - epoch;
+        overrun_elapsed[overrun_head] = elapsed;
+        overrun_budgets[overrun_head] = budget;
+        overrun_sources[overrun_head] = source;
+        overrun_head = (overrun_head + 1) % OVERRUN_CAPACITY;
+        if (overrun_size < OVERRUN_CAPACITY) {
+            overrun_size++;
+        }
+        overrun_count++;
+    }
+
+    /**
+     * Must be called from the main loop (e.g. from a transmitter).
+     * @return Descriptions of the recorded overruns, newest first.
+     */
+    public ArrayList<String> get_overruns() {
+        ArrayList<String> overruns = new ArrayList<>(overrun_size);
+        for (int i = 1; i <= overrun_size; i++) {
+            int idx = (overrun_head - i + OVERRUN_CAPACITY) % OVERRUN_CAPACITY;
+            Object source = overrun_sources[idx];
+            overruns.add(String.format("t=%.3fs %s took %dus (budget %dus)", overrun_times[idx] / 1e9,
+                    source == null ? "Loop" : source.toString(), overrun_elapsed[idx] / 1000, overrun_budgets[idx] / 1000));
+        }
+        return overruns;
+    }
+
+    /**
+     * @return The total number of overruns recorded, including those no longer in the ring buffer.
+     */
+    public long get_overrun_count() {
+        return overrun_count;
+    }
+
+    /**
+     * @return A snapshot of the histogram of main loop iteration times.
+     */
+    public LatencyHistogram.Snapshot get_loop_timing() {
+        return loop_timing.snapshot();
+    }
+
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_string("O_LOOP_TIMING_NT", TransmitFrequency.SLOW, () -> get_loop_timing().toString());
+        comm.publish_double("O_LOOP_OVERRUN_COUNT_NT", TransmitFrequency.SLOW, () -> overrun_count);
+        comm.publish_string_array("O_LOOP_OVERRUNS_NT", TransmitFrequency.SLOW, () -> {
+            ArrayList<String> overruns = get_overruns();
+            return overruns.toArray(new String[overruns.size()]);
+        });
+    }
+}
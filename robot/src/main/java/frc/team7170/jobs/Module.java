@@ -1,5 +1,7 @@
 package frc.team7170.jobs;
 
+import java.util.ArrayDeque;
+
 
 /**
  * Defines a module/subsystem on the robot. Each module should have its own resources, such as motors or sensors.
@@ -16,15 +18,142 @@ package frc.team7170.jobs;
  * Override the update, enabled, or disabled methods appropriately.
  * Use set_default_job to set the default job (runs when the dispatcher assigns no other job to this module.)
  * use set_enabled to enable/disable this module when it does/doesn't need to run.
+ * Use set_update_period if update() doesn't need to run every tick.
  */
 public abstract class Module {
 
     private boolean locked = false;  // State variable of whether the module's lock is claimed.
     private boolean enabled = true;  // State variable of whether the module is enabled.
+    private Dispatcher dispatcher = null;  // The dispatcher this module is registered with (null if not registered yet).
+    private int index = -1;  // Dense index assigned by the dispatcher on registration (-1 if not registered yet).
+    private long time_budget_ns = 0;  // Time budget of a single update in nanoseconds (0 for no budget).
+    private boolean critical = true;  // Whether this module must be updated even if the loop is overrunning.
+    private int update_period = 1;  // Number of dispatcher ticks between updates.
+    private int update_phase = 0;  // Tick (modulo update_period) on which this module is updated.
+    private boolean auto_phase = true;  // Whether the dispatcher picks update_phase.
 
     private Job curr_job = null;  // Holds the currently running job
     private Job default_job = null;  // Holds the default job to run if the dispatcher assigns no other job
 
+    /**
+     * FIFO of queued {@link Job}s that require this module, in the order they were added to the {@link Dispatcher}.
+     * When this module is freed, the dispatcher re-checks the jobs in this queue. This is managed entirely by the
+     * dispatcher.
+     */
+    final ArrayDeque<Job> wait_queue = new ArrayDeque<>();
+
+    /**
+     * Called from {@link Dispatcher#register_module(Module)} to give this module its dense index.
+     * @param dispatcher The dispatcher registering this module.
+     * @param index The index of this module in the dispatcher; this is also the bit this module occupies in lock masks.
+     */
+    final void set_index(Dispatcher dispatcher, int index) {
+        this.dispatcher = dispatcher;
+        this.index = index;
+    }
+
+    /**
+     * @return The dense index assigned to this module by the {@link Dispatcher}, or -1 if it is not registered.
+     */
+    final int get_index() {
+        return index;
+    }
+
+    /**
+     * @return The single-bit mask of this module as used in {@link Job} requirement masks and the dispatcher's lock mask.
+     */
+    final long get_mask() {
+        return 1L << index;
+    }
+
+    /**
+     * Set how long a single call to update() on this module is expected to take at most. If it takes longer, the
+     * {@link LoopMonitor} records an overrun naming this module.
+     * @param budget_us The budget in microseconds, or 0 for no budget.
+     */
+    protected final void set_time_budget_us(long budget_us) {
+        time_budget_ns = 1000 * budget_us;
+    }
+
+    /**
+     * @return The time budget of a single update in nanoseconds, or 0 if this module has no budget.
+     */
+    public final long get_time_budget_ns() {
+        return time_budget_ns;
+    }
+
+    /**
+     * Set whether this module is critical. Non-critical modules may be skipped by the {@link Dispatcher} for the rest
+     * of a loop iteration which has overrun (see {@link LoopMonitor}). Modules are critical by default.
+     * @param critical Whether this module is critical.
+     */
+    protected final void set_critical(boolean critical) {
+        this.critical = critical;
+    }
+
+    /**
+     * @return Whether this module is critical.
+     */
+    public final boolean is_critical() {
+        return critical;
+    }
+
+    /**
+     * Set how often update() is called, with the phase chosen by the {@link Dispatcher} so that modules with the same
+     * period are spread over different ticks.
+     * @param period The number of dispatcher ticks between updates (1 to update every tick).
+     */
+    protected final void set_update_period(int period) {
+        set_update_period(period, -1);
+    }
+
+    /**
+     * Set how often update() is called. The module is updated on every tick t for which t % period == phase.
+     * Modules with shorter periods are always updated before those with longer periods (rate-monotonic order).
+     * Note that this only affects this module's update(); {@link Job}s running on this module are updated every tick.
+     * @param period The number of dispatcher ticks between updates (1 to update every tick).
+     * @param phase The tick offset in [0, period), or -1 to let the dispatcher choose the least loaded phase.
+     */
+    protected final void set_update_period(int period, int phase) {
+        if (period < 1 || phase >= period) {
+            throw new RuntimeException("Invalid update period " + period + " / phase " + phase + " for Module " + this + "!");
+        }
+        update_period = period;
+        auto_phase = phase < 0;
+        update_phase = auto_phase ? 0 : phase;
+        if (index >= 0) {
+            dispatcher.schedule_module(this);
+        }
+    }
+
+    /**
+     * @return The number of dispatcher ticks between updates of this module.
+     */
+    public final int get_update_period() {
+        return update_period;
+    }
+
+    /**
+     * @return The tick (modulo the update period) on which this module is updated.
+     */
+    public final int get_update_phase() {
+        return update_phase;
+    }
+
+    /**
+     * Called from {@link Dispatcher#schedule_module(Module)} to assign an automatically chosen phase.
+     */
+    final void set_update_phase(int phase) {
+        update_phase = phase;
+    }
+
+    /**
+     * @return Whether the phase of this module should be chosen by the {@link Dispatcher}.
+     */
+    final boolean has_auto_phase() {
+        return auto_phase;
+    }
+
     /**
      * Attempt to claim the lock on this module and assign it to the given {@link Job}.
      * @param job The job that claims this lock.
@@ -127,7 +256,8 @@ public abstract class Module {
     }
 
     /**
-     * Override this with any tasks that need to be updated frequently. Called every time {@link Dispatcher#run()} is called.
+     * Override this with any tasks that need to be updated frequently. Called every time {@link Dispatcher#run()} is
+     * called, or every few times if an update period was set with set_update_period(int).
      */
     protected void update() {}
 
@@ -0,0 +1,40 @@
+package frc.team7170.jobs;
+
+
+/**
+ * Runs all of its children at the same time. Each child may finish on its own; the group finishes when all of them have.
+ */
+public class ParallelJob extends JobGroup {
+
+    private int remaining;  // Number of children that haven't finished
+
+    public ParallelJob(Job ...children) {
+        this(false, children);
+    }
+
+    public ParallelJob(boolean interruptable, Job ...children) {
+        super(interruptable, children);
+        remaining = children.length;
+    }
+
+    @Override
+    protected void init() {
+        for (int i = 0; i < children.length; i++) {
+            start_child(i);
+        }
+    }
+
+    @Override
+    protected void update() {
+        for (int i = 0; i < children.length; i++) {
+            if (!is_child_finished(i) && step_child(i)) {
+                remaining--;
+            }
+        }
+    }
+
+    @Override
+    protected boolean is_finished() {
+        return remaining == 0;
+    }
+}
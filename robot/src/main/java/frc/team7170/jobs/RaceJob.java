@@ -0,0 +1,39 @@
+package frc.team7170.jobs;
+
+
+/**
+ * Runs all of its children at the same time and finishes as soon as any one of them finishes, cancelling the rest.
+ */
+public class RaceJob extends JobGroup {
+
+    private boolean any_finished = false;
+
+    public RaceJob(Job ...children) {
+        this(false, children);
+    }
+
+    public RaceJob(boolean interruptable, Job ...children) {
+        super(interruptable, children);
+    }
+
+    @Override
+    protected void init() {
+        for (int i = 0; i < children.length; i++) {
+            start_child(i);
+        }
+    }
+
+    @Override
+    protected void update() {
+        for (int i = 0; i < children.length; i++) {
+            if (step_child(i)) {
+                any_finished = true;
+            }
+        }
+    }
+
+    @Override
+    protected boolean is_finished() {
+        return any_finished || children.length == 0;
+    }
+}
@@ -0,0 +1,40 @@
+package frc.team7170.jobs;
+
+
+/**
+ * Runs its children one after another. Each child is started as soon as the previous one finishes (in the same tick)
+ * and the group finishes when the last child does.
+ */
+public class SequentialJob extends JobGroup {
+
+    private int current = 0;  // Index of the running child
+
+    public SequentialJob(Job ...children) {
+        this(false, children);
+    }
+
+    public SequentialJob(boolean interruptable, Job ...children) {
+        super(interruptable, children);
+    }
+
+    @Override
+    protected void init() {
+        if (children.length > 0) {
+            start_child(0);
+        }
+    }
+
+    @Override
+    protected void update() {
+        while (current < children.length && step_child(current)) {
+            if (++current < children.length) {
+                start_child(current);
+            }
+        }
+    }
+
+    @Override
+    protected boolean is_finished() {
+        return current >= children.length;
+    }
+}
@@ -1,15 +1,15 @@
 package frc.team7170.robot;
 
 import edu.wpi.first.networktables.EntryNotification;
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.DriverStation;
+import frc.team7170.comm.Communication;
 import frc.team7170.comm.Communicator;
 import frc.team7170.comm.Receiver;
 import frc.team7170.comm.TransmitFrequency;
-import frc.team7170.comm.Transmitter;
 import frc.team7170.jobs.Dispatcher;
 import frc.team7170.jobs.JRunnable;
 import frc.team7170.jobs.Job;
+import frc.team7170.jobs.SequentialJob;
 import frc.team7170.subsystems.arm.*;
 import frc.team7170.subsystems.drive.Drive;
 import frc.team7170.subsystems.drive.JStraight;
@@ -139,7 +139,7 @@ public class Auto implements Communicator {
                 break;
         }
         resolved = true;
-        auto.forEach((job) -> Dispatcher.get_instance().add_job(job));
+        Dispatcher.get_instance().add_job(new SequentialJob(auto.toArray(new Job[auto.size()])));
         return true;
     }
 
@@ -167,16 +167,9 @@ public class Auto implements Communicator {
         }
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_AUTO_DELAY_MS"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_AUTO_DELAY_MS":
-                entry.setDouble(delay_on_start);
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_AUTO_DELAY_MS", TransmitFrequency.STATIC, () -> delay_on_start);
     }
 
     @SuppressWarnings("unused")
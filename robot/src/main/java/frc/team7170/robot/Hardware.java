@@ -0,0 +1,379 @@
+package frc.team7170.robot;
+
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import edu.wpi.first.wpilibj.ADXRS450_Gyro;
+import edu.wpi.first.wpilibj.AnalogPotentiometer;
+import edu.wpi.first.wpilibj.BuiltInAccelerometer;
+import edu.wpi.first.wpilibj.GenericHID;
+import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj.Spark;
+import edu.wpi.first.wpilibj.SpeedControllerGroup;
+import edu.wpi.first.wpilibj.drive.DifferentialDrive;
+
+
+/**
+ * Source of every motor, sensor, pneumatic, and HID the modules use. Modules create their hardware through
+ * Hardware.get_instance() rather than constructing WPILib classes directly, so the same modules can run off the robot
+ * against fake hardware (see {@link ReplayHardware}).
+ *
+ * The default instance is backed by WPILib. Use set_instance() to swap in other hardware; this must be done before any
+ * module is initialized, as modules create their hardware when they are.
+ */
+public abstract class Hardware {
+
+    private static volatile Hardware instance = new WPIHardware();
+
+    public static Hardware get_instance() {
+        return instance;
+    }
+
+    /**
+     * Replace the hardware used by the modules. Must be called before any module is initialized.
+     * @param hardware The new hardware.
+     */
+    public static void set_instance(Hardware hardware) {
+        instance = hardware;
+    }
+
+    /**
+     * A pair of motor groups driven tank style.
+     */
+    public interface TankDrive {
+        /**
+         * @param left Left speed in [-1, 1].
+         * @param right Right speed in [-1, 1].
+         * @param square Whether to square the speeds (keeping their signs) for finer control at low speeds.
+         */
+        void tank(double left, double right, boolean square);
+        void stop();
+    }
+
+    public interface Motor {
+        void set(double speed);
+        double get();
+        void set_inverted(boolean inverted);
+    }
+
+    public interface Encoder {
+        void set_distance_per_pulse(double distance);
+        int get();
+        double get_distance();
+        double get_rate();
+        boolean get_direction();
+        boolean get_stopped();
+        void reset();
+    }
+
+    public interface Gyro {
+        double get_angle();  // Degrees
+        void reset();
+    }
+
+    public interface Accelerometer {
+        // In g
+        double get_X();
+        double get_Y();
+        double get_Z();
+    }
+
+    public interface AnalogSensor {
+        double get();
+    }
+
+    public interface Solenoid {
+        void set(boolean on);
+        boolean get();
+    }
+
+    public interface Compressor {
+        void start();
+        void stop();
+        boolean get_closed_loop_control();
+        double get_current();
+        boolean get_pressure_switch();
+    }
+
+    /**
+     * A joystick or gamepad on the driver station.
+     */
+    public interface HID {
+        double get_raw_axis(int axis);
+        boolean get_raw_button(int button);
+        boolean get_raw_button_pressed(int button);  // Whether the button was pressed since the last call
+        boolean get_raw_button_released(int button);  // Whether the button was released since the last call
+        int get_pov();  // Angle of POV 0 in degrees, or -1 if it isn't pressed
+        String get_name();
+        void set_rumble(GenericHID.RumbleType side, double value);
+    }
+
+    /**
+     * Drive base of four Talon SRXs, the front and back motor of each side in a group.
+     * @param front_left CAN ID.
+     * @param back_left CAN ID.
+     * @param front_right CAN ID.
+     * @param back_right CAN ID.
+     */
+    public abstract TankDrive tank_drive(int front_left, int back_left, int front_right, int back_right);
+
+    /**
+     * @param channel PWM channel of a Spark.
+     */
+    public abstract Motor spark(int channel);
+
+    /**
+     * @param channel_A DIO channel.
+     * @param channel_B DIO channel.
+     */
+    public abstract Encoder encoder(int channel_A, int channel_B);
+
+    /**
+     * The gyro on the SPI port.
+     */
+    public abstract Gyro gyro();
+
+    /**
+     * The roboRIO's built in accelerometer.
+     */
+    public abstract Accelerometer accelerometer();
+
+    /**
+     * @param channel AIO channel.
+     * @param scale Full range of the potentiometer's output.
+     * @param offset Added to the scaled output.
+     */
+    public abstract AnalogSensor potentiometer(int channel, double scale, double offset);
+
+    /**
+     * @param module CAN ID of the PCM.
+     * @param channel Solenoid channel on the PCM.
+     */
+    public abstract Solenoid solenoid(int module, int channel);
+
+    /**
+     * @param module CAN ID of the PCM.
+     */
+    public abstract Compressor compressor(int module);
+
+    /**
+     * @param port Driver station port.
+     */
+    public abstract HID hid(int port);
+
+    /**
+     * Hardware backed by WPILib (and CTRE Phoenix). Only works on the robot.
+     */
+    public static class WPIHardware extends Hardware {
+
+        @Override
+        public TankDrive tank_drive(int front_left, int back_left, int front_right, int back_right) {
+            DifferentialDrive drive = new DifferentialDrive(
+                    new SpeedControllerGroup(new WPI_TalonSRX(front_left), new WPI_TalonSRX(back_left)),
+                    new SpeedControllerGroup(new WPI_TalonSRX(front_right), new WPI_TalonSRX(back_right)));
+            return new TankDrive() {
+                @Override
+                public void tank(double left, double right, boolean square) {
+                    drive.tankDrive(left, right, square);
+                }
+
+                @Override
+                public void stop() {
+                    drive.stopMotor();
+                }
+            };
+        }
+
+        @Override
+        public Motor spark(int channel) {
+            Spark spark = new Spark(channel);
+            return new Motor() {
+                @Override
+                public void set(double speed) {
+                    spark.set(speed);
+                }
+
+                @Override
+                public double get() {
+                    return spark.get();
+                }
+
+                @Override
+                public void set_inverted(boolean inverted) {
+                    spark.setInverted(inverted);
+                }
+            };
+        }
+
+        @Override
+        public Encoder encoder(int channel_A, int channel_B) {
+            edu.wpi.first.wpilibj.Encoder enc = new edu.wpi.first.wpilibj.Encoder(channel_A, channel_B);
+            return new Encoder() {
+                @Override
+                public void set_distance_per_pulse(double distance) {
+                    enc.setDistancePerPulse(distance);
+                }
+
+                @Override
+                public int get() {
+                    return enc.get();
+                }
+
+                @Override
+                public double get_distance() {
+                    return enc.getDistance();
+                }
+
+                @Override
+                public double get_rate() {
+                    return enc.getRate();
+                }
+
+                @Override
+                public boolean get_direction() {
+                    return enc.getDirection();
+                }
+
+                @Override
+                public boolean get_stopped() {
+                    return enc.getStopped();
+                }
+
+                @Override
+                public void reset() {
+                    enc.reset();
+                }
+            };
+        }
+
+        @Override
+        public Gyro gyro() {
+            ADXRS450_Gyro gyro = new ADXRS450_Gyro();
+            return new Gyro() {
+                @Override
+                public double get_angle() {
+                    return gyro.getAngle();
+                }
+
+                @Override
+                public void reset() {
+                    gyro.reset();
+                }
+            };
+        }
+
+        @Override
+        public Accelerometer accelerometer() {
+            BuiltInAccelerometer accel = new BuiltInAccelerometer();
+            return new Accelerometer() {
+                @Override
+                public double get_X() {
+                    return accel.getX();
+                }
+
+                @Override
+                public double get_Y() {
+                    return accel.getY();
+                }
+
+                @Override
+                public double get_Z() {
+                    return accel.getZ();
+                }
+            };
+        }
+
+        @Override
+        public AnalogSensor potentiometer(int channel, double scale, double offset) {
+            AnalogPotentiometer pot = new AnalogPotentiometer(channel, scale, offset);
+            return pot::get;
+        }
+
+        @Override
+        public Solenoid solenoid(int module, int channel) {
+            edu.wpi.first.wpilibj.Solenoid solenoid = new edu.wpi.first.wpilibj.Solenoid(module, channel);
+            return new Solenoid() {
+                @Override
+                public void set(boolean on) {
+                    solenoid.set(on);
+                }
+
+                @Override
+                public boolean get() {
+                    return solenoid.get();
+                }
+            };
+        }
+
+        @Override
+        public Compressor compressor(int module) {
+            edu.wpi.first.wpilibj.Compressor compressor = new edu.wpi.first.wpilibj.Compressor(module);
+            return new Compressor() {
+                @Override
+                public void start() {
+                    compressor.start();
+                }
+
+                @Override
+                public void stop() {
+                    compressor.stop();
+                }
+
+                @Override
+                public boolean get_closed_loop_control() {
+                    return compressor.getClosedLoopControl();
+                }
+
+                @Override
+                public double get_current() {
+                    return compressor.getCompressorCurrent();
+                }
+
+                @Override
+                public boolean get_pressure_switch() {
+                    return compressor.getPressureSwitchValue();
+                }
+            };
+        }
+
+        @Override
+        public HID hid(int port) {
+            // Technically this doesn't have to be a Joystick because we're simply accessing raw values
+            Joystick joy = new Joystick(port);
+            return new HID() {
+                @Override
+                public double get_raw_axis(int axis) {
+                    return joy.getRawAxis(axis);
+                }
+
+                @Override
+                public boolean get_raw_button(int button) {
+                    return joy.getRawButton(button);
+                }
+
+                @Override
+                public boolean get_raw_button_pressed(int button) {
+                    return joy.getRawButtonPressed(button);
+                }
+
+                @Override
+                public boolean get_raw_button_released(int button) {
+                    return joy.getRawButtonReleased(button);
+                }
+
+                @Override
+                public int get_pov() {
+                    return joy.getPOV();
+                }
+
+                @Override
+                public String get_name() {
+                    return joy.getName();
+                }
+
+                @Override
+                public void set_rumble(GenericHID.RumbleType side, double value) {
+                    joy.setRumble(side, value);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package frc.team7170.robot;
+
+import frc.team7170.comm.ReceiverMailbox;
+import frc.team7170.control.Control;
+import frc.team7170.control.keymaps.GamepadBindings2;
+import frc.team7170.jobs.ControlExecutor;
+import frc.team7170.jobs.Dispatcher;
+import frc.team7170.jobs.JRunnable;
+import frc.team7170.jobs.LoopMonitor;
+import frc.team7170.jobs.Module;
+import frc.team7170.jobs.SequentialJob;
+import frc.team7170.subsystems.Pneumatics;
+import frc.team7170.subsystems.arm.ArmEndE;
+import frc.team7170.subsystems.arm.ArmRotate;
+import frc.team7170.subsystems.arm.JHoldArm;
+import frc.team7170.subsystems.arm.JMoveArm;
+import frc.team7170.subsystems.drive.Acceleration;
+import frc.team7170.subsystems.drive.Drive;
+import frc.team7170.subsystems.drive.JTurn;
+import frc.team7170.util.CalcUtil;
+import frc.team7170.util.DebugUtil;
+
+import java.util.logging.Logger;
+
+
+/**
+ * The robot's main loop: what happens at initialization, on entering each mode, and in each iteration, minus anything
+ * that needs a real robot (the camera, the flight recorder, etcetera). {@link Robot} delegates its init and periodic
+ * methods here, and {@link Replay} drives it directly against fake {@link Hardware}, so a replay runs the same code as
+ * a match.
+ *
+ * Each iteration is the mode's periodic method followed by robot_periodic(), then end_loop() once everything else
+ * (e.g. recording) is done.
+ */
+public final class MainLoop {
+
+    private final static Logger LOGGER = Logger.getLogger(MainLoop.class.getName());
+
+    private static MainLoop instance = new MainLoop();  // Singleton
+    public static MainLoop get_instance() {
+        return instance;
+    }
+    private MainLoop() {}
+
+    /**
+     * Because of the level of abstraction provide by {@link Dispatcher} and {@link frc.team7170.comm.Communication}, it
+     * is possible that certain classes, namely singletons, may never load even though they are expected to. For
+     * example, {@link Dispatcher} updates each module through its {@link Module#update()} method, but if the module is
+     * never loaded, and hence never initialized, the update method for that module may be neglected. Also, certain
+     * modules may need to be loaded before others to avoid null pointers, etcetera. This could be circumnavigated with
+     * null checks and making the dispatcher manually register each module or something similar, but this is cleaner and
+     * makes the initialization sequence more explicit. Therefore, this method force loads each specified class in the
+     * specified order.
+     */
+    private void load_classes() {
+        try {
+            // Some of these may be unnecessary due to the fact that some modules cross reference each other
+            // Nonetheless, they're all listed for completeness sake
+            Class.forName("frc.team7170.jobs.Dispatcher");
+            Class.forName("frc.team7170.jobs.ControlExecutor");
+            //Class.forName("frc.team7170.comm.Communication");
+            //Class.forName("frc.team7170.comm.MiscSender");
+            Class.forName("frc.team7170.control.Control");
+            Class.forName("frc.team7170.control.keymaps.JoystickBindings1");
+            Class.forName("frc.team7170.control.keymaps.GamepadBindings1");
+            Class.forName("frc.team7170.control.keymaps.GamepadBindings2");
+            Class.forName("frc.team7170.control.keymaps.JoelBindings");
+            Class.forName("frc.team7170.subsystems.drive.Drive");
+            Class.forName("frc.team7170.subsystems.arm.ArmRotate");
+            Class.forName("frc.team7170.subsystems.arm.ArmEndE");
+            Class.forName("frc.team7170.subsystems.Pneumatics");
+            //Class.forName("frc.team7170.robot.Auto");
+        } catch (ClassNotFoundException e) {
+            // Shouldn't happen -- using constant strings for class paths
+            throw new RuntimeException("Exception while loading classes.");
+        }
+    }
+
+    /**
+     * Load every module and set up the loop. Called on the main loop thread; any replacement {@link Hardware} must be
+     * installed before this.
+     */
+    public void init() {
+        SensorFrame.set_main_thread();  // Before loading the modules, which may read their sensors
+        load_classes();
+        LoopMonitor.get_instance().set_period_us(RobotMap.Loop.period_us);
+        LoopMonitor.get_instance().set_skip_noncritical(RobotMap.Loop.skip_noncritical_on_overrun);
+        ControlExecutor control = ControlExecutor.get_instance();
+        control.set_pre_tick(() -> SensorFrame.sample(control.get_sensors()));  // Only what the running jobs read
+        LOGGER.info("Setting keymap.");
+        Control.get_instance().set_keymap(GamepadBindings2.get_instance());
+    }
+
+
+    //----------Mode initialization----------//
+
+    public void disabled_init() {
+        LOGGER.info("ROBOT IN DISABLED");
+        Dispatcher.get_instance().cancel_all();
+        Drive.get_instance().set_enabled(false);
+        ArmRotate.get_instance().set_enabled(false);
+        ArmEndE.get_instance().set_enabled(false);
+    }
+
+
+    public void autonomous_init() {
+        LOGGER.info("ROBOT IN AUTONOMOUS");
+        /* TODO: TEMP -- AUTO DISABLED
+        if (Auto.get_instance().resolve_auto()) {
+            LOGGER.info("Resolving autonomous...Success.");
+        } else {
+            LOGGER.severe("Resolving autonomous...Failed.");
+        }
+        */
+        Drive.get_instance().set_enabled(true);
+        ArmRotate.get_instance().set_enabled(true);
+        ArmEndE.get_instance().set_enabled(true);
+        // Drive is required for the whole routine so nothing else drives the robot while the arm is moving
+        Dispatcher.get_instance().add_job(new SequentialJob(
+                new JTurn(370, 0.50, 0.3, 0.25, 0.3, 0.7, false, false),
+                new JRunnable(() -> Drive.get_instance().brake(), Drive.get_instance()),
+                new JMoveArm(90, 0.9, 0.8, 0.8, 0.2, 0.8, false, false),
+                new JMoveArm(18, 0.9, 0.8, 0.8, 0.2, 0.8, false, false),
+                new JRunnable(() -> Pneumatics.get_instance().set_solenoids(true), ArmRotate.get_instance()),
+                new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_push(), 250, ArmEndE.get_instance()),
+                new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_kill(), 2000, ArmEndE.get_instance()),
+                new JMoveArm(90, 0.9, 0.8, 0.8, 0.2, 0.8, false, false),
+                new JHoldArm(3000),
+                new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_push(), 250, ArmEndE.get_instance()),
+                new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_kill(), 2000, ArmEndE.get_instance()),
+                new JMoveArm(0, 0.9, 0.8, 0.8, 0.2, 0.8, false, false)
+        ), Drive.get_instance());
+    }
+
+
+    public void teleop_init() {
+        LOGGER.info("ROBOT IN TELEOP");
+        Drive.get_instance().set_enabled(true);
+        ArmRotate.get_instance().set_enabled(true);
+        ArmEndE.get_instance().set_enabled(true);
+    }
+
+
+    public void test_init() {
+        LOGGER.info("ROBOT IN TEST");
+        Drive.get_instance().set_enabled(true);
+        ArmRotate.get_instance().set_enabled(true);
+        ArmEndE.get_instance().set_enabled(true);
+
+        Dispatcher.get_instance().add_job(new JRunnable(
+                () -> System.out.println("Test job running for 5 seconds. Blocking Arm and Drive."),
+                () -> {},
+                () -> System.out.println("Done blocking Arm and Drive."),
+                5000, Drive.get_instance(), ArmRotate.get_instance(), ArmEndE.get_instance()
+        ));
+        Dispatcher.get_instance().add_job(new JRunnable(
+                () -> System.out.println("Test job running for 4 seconds. Blocking Arm."),
+                () -> {},
+                () -> System.out.println("Done blocking Arm."),
+                4000, ArmRotate.get_instance(), ArmEndE.get_instance()
+        ));
+        Dispatcher.get_instance().add_job(new JRunnable(
+                () -> System.out.println("Test job running for 2 seconds. Blocking Drive."),
+                () -> {},
+                () -> System.out.println("Done blocking Drive."),
+                2000, Drive.get_instance()
+        ));
+
+        DebugUtil.assert_(CalcUtil.in_threshold(5, 6, 2), "CalcUtil.in_threshold");
+        DebugUtil.assert_(!CalcUtil.in_threshold(0.8, 0.5, 0.1), "CalcUtil.in_threshold");
+        DebugUtil.assert_(CalcUtil.apply_bounds(1.32, 0, 1) == 1, "CalcUtil.apply_bounds");
+        DebugUtil.assert_(CalcUtil.apply_bounds(-0.13, 0, 1) == 0, "CalcUtil.apply_bounds");
+        DebugUtil.assert_(CalcUtil.apply_bounds(0.13, 0, 1) == 0.13, "CalcUtil.apply_bounds");
+
+        Acceleration accel = new Acceleration(0.85, 0.25, 0.1, 0.4, 0.8, false, false, false);
+        System.out.println("Running acceleration algorithm with 1000 steps with following params: maxout=0.85, transin=0.25, transout=0.1, stopaccel=0.4, startdecel=0.8, constaccel, constdecel, not reversed");
+        for (int i = 0; i < 1; i += 0.001) {
+            System.out.print(accel.get(i)+" ");
+        }
+        System.out.println();
+
+        accel = new Acceleration(0.99, 0.17, 0.22, 0.3, 0.9, true, true, true);
+        System.out.println("Running acceleration algorithm with 1000 steps with following params: maxout=0.99, transin=0.17, transout=0.22, stopaccel=0.3, startdecel=0.9, linaccel, lindecel, reversed");
+        for (int i = 0; i < 1; i += 0.001) {
+            System.out.print(accel.get(i)+" ");
+        }
+        System.out.println();
+
+        System.out.println("RUNNING TELEOP PERIODIC");
+    }
+
+
+    //----------Periodic----------//
+
+    /**
+     * Called at the top of every periodic method. The mode-specific periodic method runs before robot_periodic(), so
+     * whichever is called first in an iteration starts the loop timer and samples the sensors.
+     */
+    private void begin_loop() {
+        if (LoopMonitor.get_instance().loop_start()) {
+            SensorFrame.sample();
+        }
+    }
+
+    public void robot_periodic() {
+        begin_loop();  // No effect if the mode periodic method already started this iteration
+        ReceiverMailbox.get_instance().drain();  // Apply dashboard updates before anything runs this iteration
+        Dispatcher.get_instance().run();
+    }
+
+    /**
+     * Mark the end of an iteration. Called last, after robot_periodic() and anything else done each iteration.
+     */
+    public void end_loop() {
+        LoopMonitor.get_instance().loop_end();
+    }
+
+    public void disabled_periodic() {
+        begin_loop();
+    }
+
+    public void autonomous_periodic() {
+        begin_loop();
+        // TODO: TEMP -- AUTO RUN DISABLED
+        // Auto.get_instance().run_auto();
+    }
+
+    public void teleop_periodic() {
+        begin_loop();
+        Drive.get_instance().poll_controls();
+        ArmEndE.get_instance().poll_controls();
+        ArmRotate.get_instance().poll_controls();
+    }
+
+    public void test_periodic() {
+        teleop_periodic();
+    }
+}
@@ -0,0 +1,233 @@
+package frc.team7170.robot;
+
+import frc.team7170.comm.FlightLog;
+import frc.team7170.comm.FlightRecorder;
+import frc.team7170.jobs.ControlExecutor;
+import frc.team7170.subsystems.arm.ArmEndE;
+import frc.team7170.subsystems.arm.ArmRotate;
+import frc.team7170.subsystems.drive.Drive;
+import frc.team7170.util.Clock;
+import frc.team7170.util.VirtualClock;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Logger;
+
+
+/**
+ * Replays a log written by {@link FlightRecorder} through a {@link Model} of the robot's control logic and compares the
+ * motor outputs it computes with the recorded ones, so control changes can be checked against real match data.
+ *
+ * For each record, in order, the clock is set to the record's time (a {@link VirtualClock} is installed for the whole
+ * replay, so it runs as fast as the model can) and the recorded sensor values are made the current {@link SensorFrame}
+ * before the model is stepped. The default model, {@link RobotModel}, runs the robot's own {@link MainLoop} against
+ * {@link ReplayHardware} fed from the records.
+ *
+ * Run from the command line as: Replay [log directory] [model class] [tolerance]
+ * The model class defaults to RobotModel.
+ */
+public class Replay {
+
+    private final static Logger LOGGER = Logger.getLogger(Replay.class.getName());
+
+    public static final String[] OUTPUT_NAMES = {"drive_L", "drive_R", "arm", "endE"};
+    // The recorded arm and end effector speeds are read back from the PWM outputs, which are quantized to about 0.002
+    public static final double DEFAULT_TOLERANCE = 0.005;
+
+    /**
+     * The control logic being replayed. Implementations must have a public no argument constructor to be used from
+     * main().
+     */
+    public interface Model {
+
+        /**
+         * Run one main loop iteration. The clock and the current {@link SensorFrame} are already those of the record.
+         * @param record The recorded iteration.
+         * @param outputs Filled with the computed outputs, in the order of OUTPUT_NAMES.
+         */
+        void step(FlightLog.Record record, double[] outputs);
+    }
+
+    /**
+     * The robot's own code: {@link MainLoop} (and so {@link frc.team7170.control.Control}, each module's
+     * poll_controls(), and {@link frc.team7170.jobs.Dispatcher} with its jobs) against {@link ReplayHardware}. The
+     * control loop jobs are ticked by hand, control_period_us apart in count only, on the sensor values of the record.
+     *
+     * Since it installs the hardware that every module is created with, it must be constructed before any module is
+     * loaded, and only once per JVM.
+     */
+    public static class RobotModel implements Model {
+
+        // Modes, in the order IterativeRobot checks them
+        private static final int DISABLED = 0;
+        private static final int TEST = 1;
+        private static final int AUTONOMOUS = 2;
+        private static final int TELEOP = 3;
+
+        private final ReplayHardware hardware = new ReplayHardware();
+        private final MainLoop loop = MainLoop.get_instance();
+        private final ControlExecutor control = ControlExecutor.get_instance();
+        private final long control_ticks = RobotMap.Loop.period_us / RobotMap.Loop.control_period_us;
+        private int mode = -1;
+
+        public RobotModel() {
+            Hardware.set_instance(hardware);
+            control.set_manual(true);
+            loop.init();
+        }
+
+        @Override
+        public void step(FlightLog.Record record, double[] outputs) {
+            hardware.load(record);
+            // The control thread ran these in the time since the last record
+            for (long i = 0; i < control_ticks; i++) {
+                control.tick();
+            }
+
+            int flags = record.flags;
+            int new_mode;
+            if ((flags & FlightRecorder.F_ENABLED) == 0) {
+                new_mode = DISABLED;
+            } else if ((flags & FlightRecorder.F_TEST) != 0) {
+                new_mode = TEST;
+            } else if ((flags & FlightRecorder.F_AUTONOMOUS) != 0) {
+                new_mode = AUTONOMOUS;
+            } else {
+                new_mode = TELEOP;
+            }
+            boolean entered = new_mode != mode;
+            mode = new_mode;
+            switch (mode) {
+                case DISABLED:
+                    if (entered) {
+                        loop.disabled_init();
+                    }
+                    loop.disabled_periodic();
+                    break;
+                case TEST:
+                    if (entered) {
+                        loop.test_init();
+                    }
+                    loop.test_periodic();
+                    break;
+                case AUTONOMOUS:
+                    if (entered) {
+                        loop.autonomous_init();
+                    }
+                    loop.autonomous_periodic();
+                    break;
+                case TELEOP:
+                    if (entered) {
+                        loop.teleop_init();
+                    }
+                    loop.teleop_periodic();
+                    break;
+            }
+            loop.robot_periodic();
+            loop.end_loop();
+
+            outputs[0] = Drive.get_instance().get_L();
+            outputs[1] = Drive.get_instance().get_R();
+            outputs[2] = ArmRotate.get_instance().get_arm_speed();
+            outputs[3] = ArmEndE.get_instance().get_endE_speed();
+        }
+    }
+
+    /**
+     * The outcome of a replay.
+     */
+    public static class Result {
+
+        public int iterations = 0;
+        public final double[] max_error = new double[OUTPUT_NAMES.length];  // Per output
+        public long first_divergence_tick = -1;  // Dispatcher tick of the first output out of tolerance, or -1 if none
+        public int first_divergence_output = -1;  // Index into OUTPUT_NAMES
+        public long elapsed_ns = 0;  // Wall time taken by the replay
+
+        public boolean diverged() {
+            return first_divergence_tick >= 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Replayed %d iterations in %.1f ms.%n", iterations, elapsed_ns / 1e6));
+            for (int i = 0; i < OUTPUT_NAMES.length; i++) {
+                sb.append(String.format("    %-8s max error %.6g%n", OUTPUT_NAMES[i], max_error[i]));
+            }
+            if (diverged()) {
+                sb.append("First divergence: ").append(OUTPUT_NAMES[first_divergence_output])
+                        .append(" on tick ").append(first_divergence_tick).append('.');
+            } else {
+                sb.append("No divergence.");
+            }
+            return sb.toString();
+        }
+    }
+
+    private Replay() {}
+
+    /**
+     * Replay the given records through a model. The clock in use beforehand is restored afterwards.
+     * @param records The records, oldest first (see FlightLog.read_dir()).
+     * @param model The control logic to replay.
+     * @param tolerance The largest absolute difference between a computed and recorded output that isn't a divergence.
+     * @return The result.
+     */
+    public static Result run(List<FlightLog.Record> records, Model model, double tolerance) {
+        Result result = new Result();
+        double[] outputs = new double[OUTPUT_NAMES.length];
+        double[] recorded = new double[OUTPUT_NAMES.length];
+        Clock previous = Clock.get_instance();
+        VirtualClock clock = null;
+        long start = System.nanoTime();
+        try {
+            for (FlightLog.Record record : records) {
+                long t = record.timestamp_us * 1000;
+                if (clock == null || t < clock.nanos()) {
+                    // Start of the log, or the robot was rebooted between segments
+                    clock = new VirtualClock(t);
+                    Clock.set_instance(clock);
+                } else {
+                    clock.advance(t - clock.nanos());
+                }
+                SensorFrame.inject(t, record.sensors);
+
+                model.step(record, outputs);
+
+                recorded[0] = record.drive_L;
+                recorded[1] = record.drive_R;
+                recorded[2] = record.arm;
+                recorded[3] = record.endE;
+                for (int i = 0; i < outputs.length; i++) {
+                    double error = Math.abs(outputs[i] - recorded[i]);
+                    result.max_error[i] = Math.max(result.max_error[i], error);
+                    if (error > tolerance && !result.diverged()) {
+                        result.first_divergence_tick = record.tick;
+                        result.first_divergence_output = i;
+                    }
+                }
+                result.iterations++;
+            }
+        } finally {
+            Clock.set_instance(previous);
+        }
+        result.elapsed_ns = System.nanoTime() - start;
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        if (args.length < 1) {
+            System.err.println("Usage: Replay [log directory] [model class] [tolerance]");
+            System.exit(2);
+        }
+        List<FlightLog.Record> records = FlightLog.read_dir(new File(args[0]));
+        String model_class = args.length > 1 ? args[1] : RobotModel.class.getName();
+        Model model = Class.forName(model_class).asSubclass(Model.class).getConstructor().newInstance();
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        LOGGER.info("Replaying " + records.size() + " records through " + model_class + ".");
+        Result result = run(records, model, tolerance);
+        System.out.println(result);
+        System.exit(result.diverged() ? 1 : 0);
+    }
+}
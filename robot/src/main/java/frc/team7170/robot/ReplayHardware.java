@@ -0,0 +1,269 @@
+package frc.team7170.robot;
+
+import edu.wpi.first.wpilibj.GenericHID;
+import frc.team7170.comm.FlightLog;
+import frc.team7170.comm.FlightRecorder;
+
+
+/**
+ * Fake hardware for {@link Replay}. Motors, solenoids, and the compressor just hold what they're set to; sensors and
+ * HIDs read whatever the last record loaded with load() holds. Nothing here touches WPILib, so it works off the robot.
+ *
+ * There is only one of each sensor on the robot, so every encoder/gyro/etcetera created is the same one; the encoders
+ * are told apart by their channels.
+ */
+public class ReplayHardware extends Hardware {
+
+    // Same as FlightRecorder.HID_PORTS, which can't be used here as it would initialize the recorder
+    private static final int[] HID_PORTS = {RobotMap.Controllers.joystick, RobotMap.Controllers.gamepad};
+
+    private final double[] sensors = new double[FlightRecorder.SENSOR_COUNT];  // Of the last record
+    private final ReplayHID[] hids = new ReplayHID[FlightRecorder.HID_COUNT];  // Index i is port HID_PORTS[i]
+
+    /**
+     * Make the sensors and HIDs read the values of the given record.
+     * @param record The record.
+     */
+    public void load(FlightLog.Record record) {
+        System.arraycopy(record.sensors, 0, sensors, 0, sensors.length);
+        for (int i = 0; i < hids.length; i++) {
+            if (hids[i] != null) {
+                hids[i].load(record.hid_axes[i], record.hid_buttons[i], record.hid_pov[i]);
+            }
+        }
+    }
+
+    @Override
+    public TankDrive tank_drive(int front_left, int back_left, int front_right, int back_right) {
+        return new TankDrive() {
+            @Override
+            public void tank(double left, double right, boolean square) {}  // Drive keeps the speeds itself
+
+            @Override
+            public void stop() {}
+        };
+    }
+
+    @Override
+    public Motor spark(int channel) {
+        return new Motor() {
+            private double speed = 0.0;
+
+            @Override
+            public void set(double speed) {
+                this.speed = speed;
+            }
+
+            @Override
+            public double get() {
+                return speed;  // Like a Spark, the speed as set regardless of inversion
+            }
+
+            @Override
+            public void set_inverted(boolean inverted) {}
+        };
+    }
+
+    @Override
+    public Encoder encoder(int channel_A, int channel_B) {
+        boolean left = channel_A == RobotMap.DIO.encoder_left_A;
+        int dist = left ? 1 : 3;  // Indices of the distance and rate in SensorFrame's field order
+        return new Encoder() {
+            @Override
+            public void set_distance_per_pulse(double distance) {}
+
+            @Override
+            public int get() {
+                return 0;  // Raw counts aren't recorded
+            }
+
+            @Override
+            public double get_distance() {
+                return sensors[dist];
+            }
+
+            @Override
+            public double get_rate() {
+                return sensors[dist + 1];
+            }
+
+            @Override
+            public boolean get_direction() {
+                return sensors[dist + 1] >= 0;
+            }
+
+            @Override
+            public boolean get_stopped() {
+                return sensors[dist + 1] == 0;
+            }
+
+            @Override
+            public void reset() {
+                // Reads zero until the next record, whose distance is already relative to the reset on the robot
+                sensors[dist] = 0.0;
+            }
+        };
+    }
+
+    @Override
+    public Gyro gyro() {
+        return new Gyro() {
+            @Override
+            public double get_angle() {
+                return sensors[5];
+            }
+
+            @Override
+            public void reset() {
+                sensors[5] = 0.0;  // As with the encoders, until the next record
+            }
+        };
+    }
+
+    @Override
+    public Accelerometer accelerometer() {
+        return new Accelerometer() {
+            // Recorded in m/s^2, read in g
+            @Override
+            public double get_X() {
+                return sensors[6] / 9.80;
+            }
+
+            @Override
+            public double get_Y() {
+                return sensors[7] / 9.80;
+            }
+
+            @Override
+            public double get_Z() {
+                return sensors[8] / 9.80;
+            }
+        };
+    }
+
+    @Override
+    public AnalogSensor potentiometer(int channel, double scale, double offset) {
+        return () -> sensors[0];  // Recorded already scaled
+    }
+
+    @Override
+    public Solenoid solenoid(int module, int channel) {
+        return new Solenoid() {
+            private boolean on = false;
+
+            @Override
+            public void set(boolean on) {
+                this.on = on;
+            }
+
+            @Override
+            public boolean get() {
+                return on;
+            }
+        };
+    }
+
+    @Override
+    public Compressor compressor(int module) {
+        return new Compressor() {
+            @Override
+            public void start() {}
+
+            @Override
+            public void stop() {}
+
+            @Override
+            public boolean get_closed_loop_control() {
+                return false;
+            }
+
+            @Override
+            public double get_current() {
+                return 0.0;
+            }
+
+            @Override
+            public boolean get_pressure_switch() {
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public HID hid(int port) {
+        for (int i = 0; i < HID_PORTS.length; i++) {
+            if (HID_PORTS[i] == port) {
+                if (hids[i] == null) {
+                    hids[i] = new ReplayHID(port);
+                }
+                return hids[i];
+            }
+        }
+        return new ReplayHID(port);  // Not recorded; always reads as released and centred
+    }
+
+    /**
+     * A HID reading the recorded axes, buttons, and POV. Pressed and released work as on the driver station: they're
+     * latched when a new record changes the button and cleared when read.
+     */
+    private static class ReplayHID implements HID {
+
+        private final int port;
+        private final float[] axes = new float[FlightRecorder.HID_AXES];
+        private int buttons = 0;  // Bit i is button i + 1
+        private int pressed = 0;
+        private int released = 0;
+        private int pov = -1;
+
+        ReplayHID(int port) {
+            this.port = port;
+        }
+
+        void load(float[] axes, int buttons, int pov) {
+            System.arraycopy(axes, 0, this.axes, 0, this.axes.length);
+            pressed |= ~this.buttons & buttons;
+            released |= this.buttons & ~buttons;
+            this.buttons = buttons;
+            this.pov = pov;
+        }
+
+        @Override
+        public double get_raw_axis(int axis) {
+            return axis < axes.length ? axes[axis] : 0.0;
+        }
+
+        @Override
+        public boolean get_raw_button(int button) {
+            return (buttons & (1 << (button - 1))) != 0;
+        }
+
+        @Override
+        public boolean get_raw_button_pressed(int button) {
+            int mask = 1 << (button - 1);
+            boolean was = (pressed & mask) != 0;
+            pressed &= ~mask;
+            return was;
+        }
+
+        @Override
+        public boolean get_raw_button_released(int button) {
+            int mask = 1 << (button - 1);
+            boolean was = (released & mask) != 0;
+            released &= ~mask;
+            return was;
+        }
+
+        @Override
+        public int get_pov() {
+            return pov;
+        }
+
+        @Override
+        public String get_name() {
+            return "Replay HID " + port;
+        }
+
+        @Override
+        public void set_rumble(GenericHID.RumbleType side, double value) {}
+    }
+}
@@ -2,31 +2,17 @@ package frc.team7170.robot;
 
 import edu.wpi.cscore.UsbCamera;
 import edu.wpi.first.networktables.EntryNotification;
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.CameraServer;
 import edu.wpi.first.wpilibj.IterativeRobot;
+import frc.team7170.comm.Communication;
 import frc.team7170.comm.Communicator;
+import frc.team7170.comm.FlightRecorder;
 import frc.team7170.comm.Receiver;
 import frc.team7170.comm.TransmitFrequency;
-import frc.team7170.comm.Transmitter;
-import frc.team7170.control.Control;
-import frc.team7170.control.keymaps.GamepadBindings1;
-import frc.team7170.control.keymaps.GamepadBindings2;
-import frc.team7170.jobs.Dispatcher;
-import frc.team7170.jobs.JRunnable;
-import frc.team7170.jobs.Module;
-import frc.team7170.subsystems.Pneumatics;
-import frc.team7170.subsystems.arm.ArmEndE;
 import frc.team7170.subsystems.arm.ArmRotate;
-import frc.team7170.subsystems.arm.JHoldArm;
-import frc.team7170.subsystems.arm.JMoveArm;
-import frc.team7170.subsystems.drive.Acceleration;
-import frc.team7170.subsystems.drive.Drive;
-import frc.team7170.subsystems.drive.JTurn;
 import frc.team7170.util.CalcUtil;
-import frc.team7170.util.DebugUtil;
+import frc.team7170.util.RunningMean;
 
-import java.util.ArrayList;
 import java.util.logging.Logger;
 
 
@@ -34,39 +20,6 @@ public class Robot extends IterativeRobot implements Communicator {
 
     private final static Logger LOGGER = Logger.getLogger(Robot.class.getName());
 
-    /**
-     * Because of the level of abstraction provide by {@link Dispatcher} and {@link frc.team7170.comm.Communication}, it
-     * is possible that certain classes, namely singletons, may never load even though they are expected to. For
-     * example, {@link Dispatcher} updates each module through its {@link Module#update()} method, but if the module is
-     * never loaded, and hence never initialized, the update method for that module may be neglected. Also, certain
-     * modules may need to be loaded before others to avoid null pointers, etcetera. This could be circumnavigated with
-     * null checks and making the dispatcher manually register each module or something similar, but this is cleaner and
-     * makes the initialization sequence more explicit. Therefore, this method force loads each specified class in the
-     * specified order.
-     */
-    private void load_classes() {
-        try {
-            // Some of these may be unnecessary due to the fact that some modules cross reference each other
-            // Nonetheless, they're all listed for completeness sake
-            Class.forName("frc.team7170.jobs.Dispatcher");
-            //Class.forName("frc.team7170.comm.Communication");
-            //Class.forName("frc.team7170.comm.MiscSender");
-            Class.forName("frc.team7170.control.Control");
-            Class.forName("frc.team7170.control.keymaps.JoystickBindings1");
-            Class.forName("frc.team7170.control.keymaps.GamepadBindings1");
-            Class.forName("frc.team7170.control.keymaps.GamepadBindings2");
-            Class.forName("frc.team7170.control.keymaps.JoelBindings");
-            Class.forName("frc.team7170.subsystems.drive.Drive");
-            Class.forName("frc.team7170.subsystems.arm.ArmRotate");
-            Class.forName("frc.team7170.subsystems.arm.ArmEndE");
-            Class.forName("frc.team7170.subsystems.Pneumatics");
-            //Class.forName("frc.team7170.robot.Auto");
-        } catch (ClassNotFoundException e) {
-            // Shouldn't happen -- using constant strings for class paths
-            throw new RuntimeException("Exception while loading classes.");
-        }
-    }
-
     private UsbCamera camera;
 
 
@@ -74,7 +27,8 @@ public class Robot extends IterativeRobot implements Communicator {
 
     public void robotInit() {
         LOGGER.info("Initializing robot...");
-        load_classes();
+        MainLoop.get_instance().init();
+        FlightRecorder.get_instance();  // Prepares the first segment now rather than on the first record
         register_comm();
         LOGGER.info("Starting camera capture.");
         try {
@@ -85,168 +39,73 @@ public class Robot extends IterativeRobot implements Communicator {
         } catch (Throwable e) {
             LOGGER.severe("Camera init failed.");
         }
-        LOGGER.info("Setting keymap.");
-        Control.get_instance().set_keymap(GamepadBindings2.get_instance());
         LOGGER.info("Initialization done.");
     }
 
 
     public void disabledInit() {
-        LOGGER.info("ROBOT IN DISABLED");
-        Dispatcher.get_instance().cancel_all();
-        Drive.get_instance().set_enabled(false);
-        ArmRotate.get_instance().set_enabled(false);
-        ArmEndE.get_instance().set_enabled(false);
+        MainLoop.get_instance().disabled_init();
     }
 
 
     public void autonomousInit() {
-        LOGGER.info("ROBOT IN AUTONOMOUS");
-        /* TODO: TEMP -- AUTO DISABLED
-        if (Auto.get_instance().resolve_auto()) {
-            LOGGER.info("Resolving autonomous...Success.");
-        } else {
-            LOGGER.severe("Resolving autonomous...Failed.");
-        }
-        */
-        Drive.get_instance().set_enabled(true);
-        ArmRotate.get_instance().set_enabled(true);
-        ArmEndE.get_instance().set_enabled(true);
-        Dispatcher.get_instance().add_job(new JTurn(370, 0.50, 0.3, 0.25, 0.3, 0.7, false, false));
-        Dispatcher.get_instance().add_job(new JRunnable(() -> Drive.get_instance().brake(), Drive.get_instance()));
-        Dispatcher.get_instance().add_job(new JMoveArm(90, 0.9, 0.8, 0.8, 0.2, 0.8, false, false), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JMoveArm(18, 0.9, 0.8, 0.8, 0.2, 0.8, false, false), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JRunnable(() -> Pneumatics.get_instance().set_solenoids(true), ArmRotate.get_instance(), Drive.get_instance()));
-        Dispatcher.get_instance().add_job(new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_push(), 250, ArmEndE.get_instance()), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_kill(), 2000, ArmEndE.get_instance()), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JMoveArm(90, 0.9, 0.8, 0.8, 0.2, 0.8, false, false), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JHoldArm(3000), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_push(), 250, ArmEndE.get_instance()), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JRunnable(()->{}, ()->{}, () -> ArmEndE.get_instance().endE_kill(), 2000, ArmEndE.get_instance()), Drive.get_instance());
-        Dispatcher.get_instance().add_job(new JMoveArm(0, 0.9, 0.8, 0.8, 0.2, 0.8, false, false), Drive.get_instance());
+        MainLoop.get_instance().autonomous_init();
     }
 
 
     public void teleopInit() {
-        LOGGER.info("ROBOT IN TELEOP");
-        Drive.get_instance().set_enabled(true);
-        ArmRotate.get_instance().set_enabled(true);
-        ArmEndE.get_instance().set_enabled(true);
+        MainLoop.get_instance().teleop_init();
     }
 
 
     public void testInit() {
-        LOGGER.info("ROBOT IN TEST");
-        Drive.get_instance().set_enabled(true);
-        ArmRotate.get_instance().set_enabled(true);
-        ArmEndE.get_instance().set_enabled(true);
-
-        Dispatcher.get_instance().add_job(new JRunnable(
-                () -> System.out.println("Test job running for 5 seconds. Blocking Arm and Drive."),
-                () -> {},
-                () -> System.out.println("Done blocking Arm and Drive."),
-                5000, Drive.get_instance(), ArmRotate.get_instance(), ArmEndE.get_instance()
-        ));
-        Dispatcher.get_instance().add_job(new JRunnable(
-                () -> System.out.println("Test job running for 4 seconds. Blocking Arm."),
-                () -> {},
-                () -> System.out.println("Done blocking Arm."),
-                4000, ArmRotate.get_instance(), ArmEndE.get_instance()
-        ));
-        Dispatcher.get_instance().add_job(new JRunnable(
-                () -> System.out.println("Test job running for 2 seconds. Blocking Drive."),
-                () -> {},
-                () -> System.out.println("Done blocking Drive."),
-                2000, Drive.get_instance()
-        ));
-
-        DebugUtil.assert_(CalcUtil.in_threshold(5, 6, 2), "CalcUtil.in_threshold");
-        DebugUtil.assert_(!CalcUtil.in_threshold(0.8, 0.5, 0.1), "CalcUtil.in_threshold");
-        DebugUtil.assert_(CalcUtil.apply_bounds(1.32, 0, 1) == 1, "CalcUtil.apply_bounds");
-        DebugUtil.assert_(CalcUtil.apply_bounds(-0.13, 0, 1) == 0, "CalcUtil.apply_bounds");
-        DebugUtil.assert_(CalcUtil.apply_bounds(0.13, 0, 1) == 0.13, "CalcUtil.apply_bounds");
-
-        Acceleration accel = new Acceleration(0.85, 0.25, 0.1, 0.4, 0.8, false, false, false);
-        System.out.println("Running acceleration algorithm with 1000 steps with following params: maxout=0.85, transin=0.25, transout=0.1, stopaccel=0.4, startdecel=0.8, constaccel, constdecel, not reversed");
-        for (int i = 0; i < 1; i += 0.001) {
-            System.out.print(accel.get(i)+" ");
-        }
-        System.out.println();
-
-        accel = new Acceleration(0.99, 0.17, 0.22, 0.3, 0.9, true, true, true);
-        System.out.println("Running acceleration algorithm with 1000 steps with following params: maxout=0.99, transin=0.17, transout=0.22, stopaccel=0.3, startdecel=0.9, linaccel, lindecel, reversed");
-        for (int i = 0; i < 1; i += 0.001) {
-            System.out.print(accel.get(i)+" ");
-        }
-        System.out.println();
-
-        System.out.println("RUNNING TELEOP PERIODIC");
+        MainLoop.get_instance().test_init();
     }
 
 
     //----------Inherited periodic functions----------//
 
     // TODO: Temp -- printing encoder values from arm
-    private ArrayList<Double> potvals = new ArrayList<>(25);
+    private RunningMean potvals = new RunningMean(25);
     private int pvcnt = 0;
     public void robotPeriodic() {
-        Dispatcher.get_instance().run();
+        MainLoop.get_instance().robot_periodic();
         potvals.add(ArmRotate.get_instance().get_pot_val());
         pvcnt++;
         if (pvcnt == 25) {
-            double sum = 0;
-            for (Double d : potvals) {
-                sum += d;
-            }
-            System.out.println(sum / 25);
-            potvals.clear();
+            System.out.println(potvals.get());
             pvcnt = 0;
         }
+        FlightRecorder.get_instance().record();
+        MainLoop.get_instance().end_loop();
     }
 
 
-    public void disabledPeriodic() {}
+    public void disabledPeriodic() {
+        MainLoop.get_instance().disabled_periodic();
+    }
 
 
     public void autonomousPeriodic() {
-        // TODO: TEMP -- AUTO RUN DISABLED
-        // Auto.get_instance().run_auto();
+        MainLoop.get_instance().autonomous_periodic();
     }
 
 
     public void teleopPeriodic() {
-        Drive.get_instance().poll_controls();
-        ArmEndE.get_instance().poll_controls();
-        ArmRotate.get_instance().poll_controls();
+        MainLoop.get_instance().teleop_periodic();
     }
 
 
     public void testPeriodic() {
-        teleopPeriodic();
+        MainLoop.get_instance().test_periodic();
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_CAMERA_RES_W_MS",
-            "O_CAMERA_RES_H_MS",
-            "O_CAMERA_FPS_MS",
-            "O_CAMERA_BRIGHTNESS_MS"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_CAMERA_RES_W_MS":
-                entry.setDouble(RobotMap.Camera.resolution_w);
-                break;
-            case "O_CAMERA_RES_H_MS":
-                entry.setDouble(RobotMap.Camera.resolution_h);
-                break;
-            case "O_CAMERA_FPS_MS":
-                entry.setDouble(RobotMap.Camera.fps);
-                break;
-            case "O_CAMERA_BRIGHTNESS_MS":
-                entry.setDouble(RobotMap.Camera.brightness);
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_CAMERA_RES_W_MS", TransmitFrequency.STATIC, () -> RobotMap.Camera.resolution_w);
+        comm.publish_double("O_CAMERA_RES_H_MS", TransmitFrequency.STATIC, () -> RobotMap.Camera.resolution_h);
+        comm.publish_double("O_CAMERA_FPS_MS", TransmitFrequency.STATIC, () -> RobotMap.Camera.fps);
+        comm.publish_double("O_CAMERA_BRIGHTNESS_MS", TransmitFrequency.STATIC, () -> RobotMap.Camera.brightness);
     }
 
     @SuppressWarnings("unused")
@@ -110,12 +110,34 @@ public class RobotMap {
         public static double pot_value_scale = 0.0;    // TODO
         public static double pot_value_reverse = 0.0;  // TODO
         public static double move_arm_pot_tolerance = 1.0;  // degrees
+        public static int pot_median_window = 5;  // samples
+        public static double pot_ema_alpha = 0.3;
         public static double arm_analog_ignore_thresh = 0.2;  // ignore joystick input if below this value
         public static double endE_analog_ignore_thresh = 0.1;  // ignore joystick input if below this value
     }
 
+    public static class Loop {
+        public static long period_us = 20000;  // IterativeRobot default period
+        public static boolean skip_noncritical_on_overrun = true;
+        public static long comm_budget_us = 2000;
+        public static long control_period_us = 5000;  // 200 Hz for ControlLoopJobs
+    }
+
+    public static class Recorder {
+        public static boolean enabled = true;
+        public static String directory = "/home/lvuser/flight";
+        public static int segment_records = 15000;  // 5 minutes at 50 Hz (about 3 MB) per segment
+        public static int segment_count = 4;  // Segment files reused in rotation
+    }
+
     public static class Communication {
         public static final String DB_to_send_key = "I_SEND_THESE";
+        public static final String DB_rate_scale_key = "I_TELEMETRY_RATE_SCALE";
         public static final String DB_avail_keymaps = "O_AVAIL_KEYMAPS_NS";
+        public static long telemetry_refresh_ms = 5000;  // Resend unchanged telemetry at least this often
+        public static boolean packed_telemetry = false;  // Send FAST/VOLATILE values in one TelemetryFrame
+        public static boolean async_publish = false;  // Write to Network Tables from a TelemetryPublisher thread
+        public static final String DB_telemetry_frame = "O_TELEMETRY_FRAME_NV";
+        public static final String DB_telemetry_schema = "O_TELEMETRY_SCHEMA_NS";
     }
 }
@@ -0,0 +1,176 @@
+package frc.team7170.robot;
+
+import frc.team7170.jobs.ControlExecutor;
+import frc.team7170.subsystems.arm.ArmRotate;
+import frc.team7170.subsystems.drive.Drive;
+import frc.team7170.util.Clock;
+
+
+/**
+ * Snapshot of every sensor on the robot, sampled once at the top of each main loop iteration (see {@link MainLoop}) and
+ * once at the top of each control tick while any {@link frc.team7170.jobs.ControlLoopJob} is running (see
+ * {@link ControlExecutor}). Sensor getters in the modules read the current frame, so every module and job sees the
+ * same values for a whole tick and each sensor is read from the hardware only once per tick.
+ *
+ * Each of the two threads has its own frame; get_current() picks the right one for the calling thread. Any other
+ * thread (e.g. NetworkTables listeners) never reads the hardware: it sees the main loop frame, or a zeroed frame before
+ * the main loop's first sample, and its calls to sample() just return that frame.
+ *
+ * Frames are preallocated and reused, so sampling never allocates: each thread has two frames, and a sample is written
+ * into the one that isn't current before it is made current. A frame therefore stays unchanged until the sample after
+ * the next one; don't hold on to a frame (or read one from another thread) for longer than a tick. The fields are only
+ * written by this class.
+ *
+ * Sensors are sampled in groups. The main loop always samples every group. The control thread only samples the groups
+ * the running control loop jobs need (see {@link frc.team7170.jobs.ControlLoopJob#sensors()}); e.g. holding the arm
+ * only reads the potentiometer. The other groups in its frame keep the values last sampled on the control thread.
+ */
+public final class SensorFrame {
+
+    // Sensor groups
+    public static final int POT = 1;  // The arm potentiometer
+    public static final int DRIVE = 1 << 1;  // The drive encoders, gyro, and accelerometer
+    public static final int ALL = POT | DRIVE;
+
+    private static final SensorFrame[] main_frames = {new SensorFrame(), new SensorFrame()};
+    private static final SensorFrame[] control_frames = {new SensorFrame(), new SensorFrame()};
+    private static volatile SensorFrame main_frame = null;  // One of main_frames, or null before the first sample
+    private static volatile SensorFrame control_frame = null;  // One of control_frames, or null before the first sample
+    private static final SensorFrame zero_frame = new SensorFrame();  // Seen by other threads before the first sample
+    private static volatile Thread main_thread = null;  // The main loop thread, once set_main_thread() is called
+
+    public long timestamp;  // Clock time of the sample in nanoseconds
+    public double pot;  // Degrees
+    public double Lenc_dist;
+    public double Lenc_rate;
+    public double Renc_dist;
+    public double Renc_rate;
+    public double gyro;  // Degrees
+    public double accel_X;  // m/s^2
+    public double accel_Y;
+    public double accel_Z;
+
+    private SensorFrame() {}
+
+    /**
+     * Make the calling thread the main loop thread, the only thread besides the control thread allowed to sample.
+     * Called from {@link MainLoop#init()}.
+     */
+    public static void set_main_thread() {
+        main_thread = Thread.currentThread();
+    }
+
+    /**
+     * Make the given values the current frame of the calling thread, without reading any sensors. Used by
+     * {@link Replay} to feed back the frames stored by {@link frc.team7170.comm.FlightRecorder}.
+     * @param timestamp Clock time of the sample in nanoseconds.
+     * @param values The sensor values, in the order of the fields.
+     * @return The new current frame.
+     */
+    public static SensorFrame inject(long timestamp, double[] values) {
+        boolean control = ControlExecutor.get_instance().is_control_thread();
+        SensorFrame frame = next_frame(control);
+        frame.timestamp = timestamp;
+        frame.pot = values[0];
+        frame.Lenc_dist = values[1];
+        frame.Lenc_rate = values[2];
+        frame.Renc_dist = values[3];
+        frame.Renc_rate = values[4];
+        frame.gyro = values[5];
+        frame.accel_X = values[6];
+        frame.accel_Y = values[7];
+        frame.accel_Z = values[8];
+        return publish(control, frame);
+    }
+
+    /**
+     * Read every sensor and make the result the current frame of the calling thread. Called at the top of each tick,
+     * and again after something (e.g. resetting the encoders) invalidates the current frame.
+     * @return The new current frame.
+     */
+    public static SensorFrame sample() {
+        return sample(ALL);
+    }
+
+    /**
+     * Read the given groups of sensors and make the result the current frame of the calling thread. The other groups
+     * keep their values from the calling thread's current frame.
+     * @param groups Bitwise or of the groups to read (POT, DRIVE).
+     * @return The new current frame.
+     */
+    public static SensorFrame sample(int groups) {
+        boolean control = ControlExecutor.get_instance().is_control_thread();
+        if (!control && Thread.currentThread() != main_thread) {
+            return other_frame();  // The main loop samples again at the top of its next iteration
+        }
+        SensorFrame current = control ? control_frame : main_frame;
+        if (current == null) {
+            groups = ALL;  // Nothing to keep
+        }
+        SensorFrame frame = next_frame(control);
+        frame.timestamp = Clock.get_instance().nanos();
+        if ((groups & POT) != 0) {
+            frame.pot = ArmRotate.get_instance().read_pot();
+        } else {
+            frame.pot = current.pot;
+        }
+        if ((groups & DRIVE) != 0) {
+            Drive drive = Drive.get_instance();
+            frame.Lenc_dist = drive.read_Lenc_dist();
+            frame.Lenc_rate = drive.read_Lenc_rate();
+            frame.Renc_dist = drive.read_Renc_dist();
+            frame.Renc_rate = drive.read_Renc_rate();
+            frame.gyro = drive.read_gyro();
+            frame.accel_X = drive.read_accel_X();
+            frame.accel_Y = drive.read_accel_Y();
+            frame.accel_Z = drive.read_accel_Z();
+        } else {
+            frame.Lenc_dist = current.Lenc_dist;
+            frame.Lenc_rate = current.Lenc_rate;
+            frame.Renc_dist = current.Renc_dist;
+            frame.Renc_rate = current.Renc_rate;
+            frame.gyro = current.gyro;
+            frame.accel_X = current.accel_X;
+            frame.accel_Y = current.accel_Y;
+            frame.accel_Z = current.accel_Z;
+        }
+        return publish(control, frame);
+    }
+
+    /**
+     * @return The current frame of the calling thread (sampled now if there isn't one yet). Threads other than the
+     * main loop and control threads get the main loop frame, or a zeroed frame if there isn't one yet.
+     */
+    public static SensorFrame get_current() {
+        Thread current = Thread.currentThread();
+        if (ControlExecutor.get_instance().is_control_thread()) {
+            return control_frame == null ? sample() : control_frame;
+        } else if (current == main_thread) {
+            return main_frame == null ? sample() : main_frame;
+        }
+        return other_frame();
+    }
+
+    private static SensorFrame other_frame() {
+        SensorFrame frame = main_frame;
+        return frame == null ? zero_frame : frame;
+    }
+
+    /**
+     * @param control Whether the calling thread is the control thread.
+     * @return The calling thread's frame that isn't current, to be written and then published.
+     */
+    private static SensorFrame next_frame(boolean control) {
+        SensorFrame[] frames = control ? control_frames : main_frames;
+        return (control ? control_frame : main_frame) == frames[0] ? frames[1] : frames[0];
+    }
+
+    private static SensorFrame publish(boolean control, SensorFrame frame) {
+        if (control) {
+            control_frame = frame;
+        } else {
+            main_frame = frame;
+        }
+        return frame;
+    }
+}
@@ -2,16 +2,14 @@ package frc.team7170.subsystems;
 
 import java.util.logging.Logger;
 
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.RpcAnswer;
-import edu.wpi.first.wpilibj.Compressor;
-import edu.wpi.first.wpilibj.Solenoid;
+import frc.team7170.comm.Communication;
 import frc.team7170.comm.Communicator;
 import frc.team7170.comm.RPCCaller;
 import frc.team7170.comm.TransmitFrequency;
-import frc.team7170.comm.Transmitter;
 import frc.team7170.jobs.Dispatcher;
 import frc.team7170.jobs.Module;
+import frc.team7170.robot.Hardware;
 import frc.team7170.robot.RobotMap;
 
 
@@ -34,12 +32,13 @@ public class Pneumatics extends Module implements Communicator {
         compressor_start();
         set_solenoids(false);
         Dispatcher.get_instance().register_module(this);
+        set_update_period(10);  // Nothing time sensitive in update()
         register_comm();
     }
 
-    private Compressor compressor = new Compressor(RobotMap.CAN.PCM);
-    private Solenoid solenoid_extend = new Solenoid(RobotMap.CAN.PCM, RobotMap.PCM.extend);
-    private Solenoid solenoid_retract = new Solenoid(RobotMap.CAN.PCM, RobotMap.PCM.retract);
+    private Hardware.Compressor compressor = Hardware.get_instance().compressor(RobotMap.CAN.PCM);
+    private Hardware.Solenoid solenoid_extend = Hardware.get_instance().solenoid(RobotMap.CAN.PCM, RobotMap.PCM.extend);
+    private Hardware.Solenoid solenoid_retract = Hardware.get_instance().solenoid(RobotMap.CAN.PCM, RobotMap.PCM.retract);
 
     @Override
     protected void update() {}
@@ -100,71 +99,27 @@ public class Pneumatics extends Module implements Communicator {
      * @return True if the compressor is on.
      */
     public boolean get_compressor_state() {
-        return compressor.getClosedLoopControl();
+        return compressor.get_closed_loop_control();
     }
 
     public double get_compressor_current() {
-        return compressor.getCompressorCurrent();
+        return compressor.get_current();
     }
 
     public boolean get_pressure_low() {
-        return compressor.getPressureSwitchValue();
+        return compressor.get_pressure_switch();
     }
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_CAN_ID_PCM_NS",
-            "O_PCM_SOLENOID_LEFT_NS",
-            "O_PCM_SOLENOID_RIGHT_NS"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_CAN_ID_PCM_NS":
-                entry.setDouble(RobotMap.CAN.PCM);
-                break;
-            case "O_PCM_SOLENOID_LEFT_NS":
-                entry.setDouble(RobotMap.PCM.extend);
-                break;
-            case "O_PCM_SOLENOID_RIGHT_NS":
-                entry.setDouble(RobotMap.PCM.retract);
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_PNEUMATICS_ENABLED_RT"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_PNEUMATICS_ENABLED_RT":
-                entry.setBoolean(get_enabled());
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.FAST, value = {
-            "O_PNEUMATICS_ARM_STATE_NT",
-            "O_PNEUMATICS_COMPRESSOR_STATE_NT",
-            "O_PNEUMATICS_COMPRESSOR_CURRENT_NT",
-            "O_PNEUMATICS_COMPRESSOR_LOW_PRESSURE_NT"
-    })
-    public void transmitter_fast(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_PNEUMATICS_ARM_STATE_NT":
-                entry.setBoolean(get_solenoids());
-                break;
-            case "O_PNEUMATICS_COMPRESSOR_STATE_NT":
-                entry.setBoolean(get_compressor_state());
-                break;
-            case "O_PNEUMATICS_COMPRESSOR_CURRENT_NT":
-                entry.setDouble(get_compressor_current());
-                break;
-            case "O_PNEUMATICS_COMPRESSOR_LOW_PRESSURE_NT":
-                entry.setBoolean(get_pressure_low());
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_CAN_ID_PCM_NS", TransmitFrequency.STATIC, () -> RobotMap.CAN.PCM);
+        comm.publish_double("O_PCM_SOLENOID_LEFT_NS", TransmitFrequency.STATIC, () -> RobotMap.PCM.extend);
+        comm.publish_double("O_PCM_SOLENOID_RIGHT_NS", TransmitFrequency.STATIC, () -> RobotMap.PCM.retract);
+        comm.publish_boolean("O_PNEUMATICS_ENABLED_RT", TransmitFrequency.SLOW, this::get_enabled);
+        comm.publish_boolean("O_PNEUMATICS_ARM_STATE_NT", TransmitFrequency.FAST, this::get_solenoids);
+        comm.publish_boolean("O_PNEUMATICS_COMPRESSOR_STATE_NT", TransmitFrequency.FAST, this::get_compressor_state);
+        comm.publish_double("O_PNEUMATICS_COMPRESSOR_CURRENT_NT", TransmitFrequency.FAST, 0.05, this::get_compressor_current);
+        comm.publish_boolean("O_PNEUMATICS_COMPRESSOR_LOW_PRESSURE_NT", TransmitFrequency.FAST, this::get_pressure_low);
     }
 
     @SuppressWarnings("unused")
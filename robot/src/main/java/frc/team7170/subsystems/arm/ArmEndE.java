@@ -1,12 +1,12 @@
 package frc.team7170.subsystems.arm;
 
-import edu.wpi.first.wpilibj.Spark;
 import frc.team7170.control.Action;
 import frc.team7170.control.Control;
 import frc.team7170.control.HIDAxisAccessor;
 import frc.team7170.control.HIDButtonAccessor;
 import frc.team7170.jobs.Dispatcher;
 import frc.team7170.jobs.Module;
+import frc.team7170.robot.Hardware;
 import frc.team7170.robot.RobotMap;
 import frc.team7170.util.CalcUtil;
 
@@ -23,14 +23,14 @@ public class ArmEndE extends Module {
     private ArmEndE() {
         LOGGER.info("Initializing arm end effector system.");
 
-        spark_left_endE.setInverted(RobotMap.Arm.reverse_endE_left);
-        spark_right_endE.setInverted(RobotMap.Arm.reverse_endE_right);
+        spark_left_endE.set_inverted(RobotMap.Arm.reverse_endE_left);
+        spark_right_endE.set_inverted(RobotMap.Arm.reverse_endE_right);
 
         Dispatcher.get_instance().register_module(this);
     }
 
-    private Spark spark_left_endE = new Spark(RobotMap.PWM.endE_left_motor);
-    private Spark spark_right_endE = new Spark(RobotMap.PWM.endE_right_motor);
+    private Hardware.Motor spark_left_endE = Hardware.get_instance().spark(RobotMap.PWM.endE_left_motor);
+    private Hardware.Motor spark_right_endE = Hardware.get_instance().spark(RobotMap.PWM.endE_right_motor);
 
     @Override
     protected void enabled() {
@@ -1,7 +1,5 @@
 package frc.team7170.subsystems.arm;
 
-import edu.wpi.first.wpilibj.AnalogPotentiometer;
-import edu.wpi.first.wpilibj.Spark;
 import frc.team7170.control.Action;
 import frc.team7170.control.Control;
 import frc.team7170.control.HIDAxisAccessor;
@@ -9,9 +7,14 @@ import frc.team7170.control.HIDButtonAccessor;
 import frc.team7170.jobs.Dispatcher;
 import frc.team7170.jobs.JRunnable;
 import frc.team7170.jobs.Module;
+import frc.team7170.jobs.SequentialJob;
+import frc.team7170.robot.Hardware;
 import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
 import frc.team7170.subsystems.Pneumatics;
 import frc.team7170.util.CalcUtil;
+import frc.team7170.util.ExponentialMovingAverage;
+import frc.team7170.util.RunningMedian;
 
 import java.util.logging.Logger;
 
@@ -26,19 +29,27 @@ public class ArmRotate extends Module {
     private ArmRotate() {
         LOGGER.info("Initializing arm rotate system.");
 
-        spark_left_arm.setInverted(RobotMap.Arm.reverse_arm_left);
-        spark_right_arm.setInverted(RobotMap.Arm.reverse_arm_right);
+        spark_left_arm.set_inverted(RobotMap.Arm.reverse_arm_left);
+        spark_right_arm.set_inverted(RobotMap.Arm.reverse_arm_right);
 
         Dispatcher.get_instance().register_module(this);
     }
 
-    private Spark spark_left_arm = new Spark(RobotMap.PWM.arm_left_motor);
-    private Spark spark_right_arm = new Spark(RobotMap.PWM.arm_right_motor);
+    private Hardware.Motor spark_left_arm = Hardware.get_instance().spark(RobotMap.PWM.arm_left_motor);
+    private Hardware.Motor spark_right_arm = Hardware.get_instance().spark(RobotMap.PWM.arm_right_motor);
 
-    private AnalogPotentiometer pot = new AnalogPotentiometer(RobotMap.AIO.arm_pot, RobotMap.Arm.pot_scale, RobotMap.Arm.pot_offset);
+    private Hardware.AnalogSensor pot = Hardware.get_instance().potentiometer(RobotMap.AIO.arm_pot, RobotMap.Arm.pot_scale, RobotMap.Arm.pot_offset);
+
+    // Pot filtering: a short median rejects single-sample spikes, then an EMA smooths what's left
+    private final RunningMedian pot_median = new RunningMedian(RobotMap.Arm.pot_median_window);
+    private final ExponentialMovingAverage pot_ema = new ExponentialMovingAverage(RobotMap.Arm.pot_ema_alpha);
+    private volatile double filtered_pot_val = Double.NaN;  // Written on the main loop, may be read from other threads; NaN until the first update
 
     @Override
     protected void update() {
+        pot_median.add(get_pot_val());
+        filtered_pot_val = pot_ema.add(pot_median.get());
+
         // Make sure the arm never breaks the 16 in. perimeter plane.
         if (Pneumatics.get_instance().get_solenoids() && in_inner_thresh()) {
             Pneumatics.get_instance().set_solenoids(false);
@@ -48,6 +59,10 @@ public class ArmRotate extends Module {
     @Override
     protected void enabled() {
         LOGGER.info("Arm rotate enabled.");
+        // The arm may have moved while disabled, so don't let the filter drag old readings along
+        pot_median.reset();
+        pot_ema.reset();
+        filtered_pot_val = Double.NaN;
         Pneumatics.get_instance().set_enabled(true);
     }
 
@@ -67,7 +82,7 @@ public class ArmRotate extends Module {
      * @return If the arm is in the inner thresholds.
      */
     public boolean in_inner_thresh() {
-        double pot_read = pot.get();
+        double pot_read = get_pot_val();
         return (pot_read >= RobotMap.Arm.pot_value_kill_lower_inner &&
                 pot_read <= RobotMap.Arm.pot_value_kill_upper_inner);
     }
@@ -76,7 +91,7 @@ public class ArmRotate extends Module {
      * @return If the arm is in the outer thresholds.
      */
     public boolean in_outer_thresh() {
-        double pot_read = pot.get();
+        double pot_read = get_pot_val();
         return (pot_read >= RobotMap.Arm.pot_value_kill_lower_outer &&
                 pot_read <= RobotMap.Arm.pot_value_kill_upper_outer);
     }
@@ -85,7 +100,7 @@ public class ArmRotate extends Module {
      * @return If extending the arm would result in physically hitting the robot base (not good, so don't do it!).
      */
     public boolean base_conflicting_extend() {
-        return pot.get() < RobotMap.Arm.pot_value_base_conflict;
+        return get_pot_val() < RobotMap.Arm.pot_value_base_conflict;
     }
 
     /**
@@ -121,9 +136,29 @@ public class ArmRotate extends Module {
     }
 
     /**
-     * @return The current arm potentiometer reading as degrees off of the starting (limp) position.
+     * @return The arm potentiometer reading from the current {@link SensorFrame} as degrees off of the starting (limp)
+     * position.
      */
     public double get_pot_val() {
+        return SensorFrame.get_current().pot;
+    }
+
+    /**
+     * @return The filtered arm potentiometer reading, updated once per main loop tick while this module is enabled.
+     * Use this for display and main loop logic; it lags the raw reading slightly. Control loop jobs should filter
+     * get_pot_val() themselves, as this is only updated every few control ticks. Falls back to the raw reading before
+     * the first update.
+     */
+    public double get_filtered_pot_val() {
+        double val = filtered_pot_val;
+        return Double.isNaN(val) ? get_pot_val() : val;
+    }
+
+    /**
+     * Read the potentiometer directly from the hardware. Only {@link SensorFrame} should call this; use get_pot_val().
+     * @return The current arm potentiometer reading as degrees off of the starting (limp) position.
+     */
+    public double read_pot() {
         return pot.get();
     }
 
@@ -182,9 +217,11 @@ public class ArmRotate extends Module {
      */
     public void go_to_base_position() {
         stop_hold_arm();
-        Dispatcher.get_instance().add_job(new JMoveArm(RobotMap.Arm.pot_value_base, 0.9, 0.7, 0.7, 0.2, 0.8, false, false));
         // Extend the arm after getting to the base position
-        Dispatcher.get_instance().add_job(new JRunnable(() -> Pneumatics.get_instance().set_solenoids(true), this));
+        Dispatcher.get_instance().add_job(new SequentialJob(
+                new JMoveArm(RobotMap.Arm.pot_value_base, 0.9, 0.7, 0.7, 0.2, 0.8, false, false),
+                new JRunnable(() -> Pneumatics.get_instance().set_solenoids(true), this)
+        ));
         hold_arm();
     }
 
@@ -233,13 +270,22 @@ public class ArmRotate extends Module {
     }
 
     /**
-     * Cancel the current {@link JHoldArm} to allow for manual arm motor input or otherwise.
+     * Cancel the current {@link JHoldArm} to allow for manual arm motor input or otherwise. Called on the main loop
+     * thread outside of the dispatcher's run(), so the job is cancelled (and no longer updated on the control thread)
+     * before this returns.
+     * @return Whether the arm motors are free for manual input, i.e. the hold job is no longer running.
      */
-    private void stop_hold_arm() {
+    private boolean stop_hold_arm() {
         if (teleop_hold_arm != null) {
             Dispatcher.get_instance().cancel_job(teleop_hold_arm, true);
+            if (teleop_hold_arm.is_running()) {
+                // The cancellation was deferred (not called from the main loop); keep off the motors until it's applied
+                LOGGER.fine("Hold arm job not yet cancelled; ignoring manual arm input.");
+                return false;
+            }
             teleop_hold_arm = null;
         }
+        return true;
     }
 
     /**
@@ -266,19 +312,22 @@ public class ArmRotate extends Module {
             if (CalcUtil.in_threshold(arm_axis.get(), 0, RobotMap.Arm.arm_analog_ignore_thresh)) {
                 hold_arm();
             } else {
-                stop_hold_arm();
-                arm_analog(arm_axis.get());
+                if (stop_hold_arm()) {
+                    arm_analog(arm_axis.get());
+                }
             }
         } else {
             HIDAxisAccessor arm_axis_up = Control.get_instance().action2axis(Action.A_ARM_ANALOG_UP);
             HIDAxisAccessor arm_axis_down = Control.get_instance().action2axis(Action.A_ARM_ANALOG_DOWN);
             if (arm_axis_up != null && arm_axis_down != null) {
                 if (!CalcUtil.in_threshold(arm_axis_up.get(), 0, RobotMap.Arm.arm_analog_ignore_thresh)) {
-                    stop_hold_arm();
-                    arm_analog(arm_axis_up.get());
+                    if (stop_hold_arm()) {
+                        arm_analog(arm_axis_up.get());
+                    }
                 } else if (!CalcUtil.in_threshold(arm_axis_down.get(), 0, RobotMap.Arm.arm_analog_ignore_thresh)) {
-                    stop_hold_arm();
-                    arm_analog(-arm_axis_down.get());
+                    if (stop_hold_arm()) {
+                        arm_analog(-arm_axis_down.get());
+                    }
                 } else {
                     hold_arm();
                 }
@@ -286,11 +335,13 @@ public class ArmRotate extends Module {
                 HIDButtonAccessor arm_up = Control.get_instance().action2button(Action.B_ARM_UP);
                 HIDButtonAccessor arm_down = Control.get_instance().action2button(Action.B_ARM_DOWN);
                 if (arm_up != null && arm_up.get()) {
-                    stop_hold_arm();
-                    arm_up();
+                    if (stop_hold_arm()) {
+                        arm_up();
+                    }
                 } else if (arm_down != null && arm_down.get()) {
-                    stop_hold_arm();
-                    arm_down();
+                    if (stop_hold_arm()) {
+                        arm_down();
+                    }
                 } else {
                     hold_arm();
                 }
@@ -305,112 +356,31 @@ public class ArmRotate extends Module {
         }
     }
     /*
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_PWM_ARM_LEFT_MOTOR_NS",
-            "O_PWM_ARM_RIGHT_MOTOR_NS",
-            "O_PWM_ENDE_LEFT_MOTOR_NS",
-            "O_PWM_ENDE_RIGHT_MOTOR_NS",
-            "O_AIO_ARM_POT_NS",
-            "O_ARM_POT_SCALE_MS",
-            "O_ARM_POT_OFFSET_MS",
-            "O_ARM_SPEED_MS",
-            "O_ENDE_SPEED_MS",
-            "O_ENDE_REVERSE_LEFT_MS",
-            "O_ENDE_REVERSE_RIGHT_MS",
-            "O_ARM_REVERSE_LEFT_MS",
-            "O_ARM_REVERSE_RIGHT_MS",
-            "O_ARM_POT_KILL_VAL_LOWER_INNER_MS",
-            "O_ARM_POT_KILL_VAL_UPPER_INNER_MS",
-            "O_ARM_POT_KILL_VAL_LOWER_OUTER_MS",
-            "O_ARM_POT_KILL_VAL_UPPER_OUTER_MS"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_PWM_ARM_LEFT_MOTOR_NS":
-                entry.setDouble(RobotMap.PWM.arm_left_motor);
-                break;
-            case "O_PWM_ARM_RIGHT_MOTOR_NS":
-                entry.setDouble(RobotMap.PWM.arm_right_motor);
-                break;
-            case "O_PWM_ENDE_LEFT_MOTOR_NS":
-                entry.setDouble(RobotMap.PWM.endE_left_motor);
-                break;
-            case "O_PWM_ENDE_RIGHT_MOTOR_NS":
-                entry.setDouble(RobotMap.PWM.endE_right_motor);
-                break;
-            case "O_AIO_ARM_POT_NS":
-                entry.setDouble(RobotMap.AIO.arm_pot);
-                break;
-            case "O_ARM_POT_SCALE_MS":
-                entry.setDouble(RobotMap.Arm.pot_scale);
-                break;
-            case "O_ARM_POT_OFFSET_MS":
-                entry.setDouble(RobotMap.Arm.pot_offset);
-                break;
-            case "O_ARM_SPEED_MS":
-                entry.setDouble(RobotMap.Arm.arm_speed);
-                break;
-            case "O_ENDE_SPEED_MS":
-                entry.setDouble(RobotMap.Arm.endE_speed);
-                break;
-            case "O_ENDE_REVERSE_LEFT_MS":
-                entry.setBoolean(RobotMap.Arm.reverse_endE_left);
-                break;
-            case "O_ENDE_REVERSE_RIGHT_MS":
-                entry.setBoolean(RobotMap.Arm.reverse_endE_right);
-                break;
-            case "O_ARM_REVERSE_LEFT_MS":
-                entry.setBoolean(RobotMap.Arm.reverse_arm_left);
-                break;
-            case "O_ARM_REVERSE_RIGHT_MS":
-                entry.setBoolean(RobotMap.Arm.reverse_arm_right);
-                break;
-            case "O_ARM_POT_KILL_VAL_LOWER_INNER_MS":
-                entry.setDouble(RobotMap.Arm.pot_value_kill_lower_inner);
-                break;
-            case "O_ARM_POT_KILL_VAL_UPPER_INNER_MS":
-                entry.setDouble(RobotMap.Arm.pot_value_kill_upper_inner);
-                break;
-            case "O_ARM_POT_KILL_VAL_LOWER_OUTER_MS":
-                entry.setDouble(RobotMap.Arm.pot_value_kill_lower_outer);
-                break;
-            case "O_ARM_POT_KILL_VAL_UPPER_OUTER_MS":
-                entry.setDouble(RobotMap.Arm.pot_value_kill_upper_outer);
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_ARM_ENABLED_RT"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_ARM_ENABLED_RT":
-                entry.setBoolean(get_enabled());
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.FAST, value = {
-            "O_ARM_POT_VAL_NT",
-            "O_ARM_CURR_SPEED_NT",
-            "O_ENDE_CURR_SPEED_NT"
-    })
-    public void transmitter_fast(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_ARM_POT_VAL_NT":
-                entry.setDouble(get_pot_val());
-                break;
-            case "O_ARM_CURR_SPEED_NT":
-                entry.setDouble(get_arm_speed());
-                break;
-            case "O_ENDE_CURR_SPEED_NT":
-                entry.setDouble(get_endE_speed());
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_PWM_ARM_LEFT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.PWM.arm_left_motor);
+        comm.publish_double("O_PWM_ARM_RIGHT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.PWM.arm_right_motor);
+        comm.publish_double("O_PWM_ENDE_LEFT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.PWM.endE_left_motor);
+        comm.publish_double("O_PWM_ENDE_RIGHT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.PWM.endE_right_motor);
+        comm.publish_double("O_AIO_ARM_POT_NS", TransmitFrequency.STATIC, () -> RobotMap.AIO.arm_pot);
+        comm.publish_double("O_ARM_POT_SCALE_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.pot_scale);
+        comm.publish_double("O_ARM_POT_OFFSET_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.pot_offset);
+        comm.publish_double("O_ARM_SPEED_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.arm_speed);
+        comm.publish_double("O_ENDE_SPEED_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.endE_speed);
+        comm.publish_boolean("O_ENDE_REVERSE_LEFT_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.reverse_endE_left);
+        comm.publish_boolean("O_ENDE_REVERSE_RIGHT_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.reverse_endE_right);
+        comm.publish_boolean("O_ARM_REVERSE_LEFT_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.reverse_arm_left);
+        comm.publish_boolean("O_ARM_REVERSE_RIGHT_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.reverse_arm_right);
+        comm.publish_double("O_ARM_POT_KILL_VAL_LOWER_INNER_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.pot_value_kill_lower_inner);
+        comm.publish_double("O_ARM_POT_KILL_VAL_UPPER_INNER_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.pot_value_kill_upper_inner);
+        comm.publish_double("O_ARM_POT_KILL_VAL_LOWER_OUTER_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.pot_value_kill_lower_outer);
+        comm.publish_double("O_ARM_POT_KILL_VAL_UPPER_OUTER_MS", TransmitFrequency.STATIC, () -> RobotMap.Arm.pot_value_kill_upper_outer);
+
+        comm.publish_boolean("O_ARM_ENABLED_RT", TransmitFrequency.SLOW, this::get_enabled);
+
+        comm.publish_double("O_ARM_POT_VAL_NT", TransmitFrequency.FAST, this::get_pot_val);
+        comm.publish_double("O_ARM_CURR_SPEED_NT", TransmitFrequency.FAST, this::get_arm_speed);
+        comm.publish_double("O_ENDE_CURR_SPEED_NT", TransmitFrequency.FAST, this::get_endE_speed);
     }
 
     @SuppressWarnings("unused")
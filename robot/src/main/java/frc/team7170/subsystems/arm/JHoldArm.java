@@ -1,14 +1,27 @@
 package frc.team7170.subsystems.arm;
 
+import frc.team7170.jobs.ControlLoopJob;
 import frc.team7170.jobs.Job;
+import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
+import frc.team7170.util.Clock;
+import frc.team7170.util.ExponentialMovingAverage;
+import frc.team7170.util.RunningMedian;
 
 
-public class JHoldArm extends Job {
+public class JHoldArm extends Job implements ControlLoopJob {
 
     private double degree;
     private int stall_ms;
     private long start_time;
 
+    // The pot is filtered here, on the control thread, from the control thread's own frames; ArmRotate's filter is only
+    // updated on the main loop, i.e. every 4th control tick. The EMA's alpha is adjusted to the control rate so it
+    // smooths over the same time as ArmRotate's.
+    private final RunningMedian pot_median = new RunningMedian(RobotMap.Arm.pot_median_window);
+    private final ExponentialMovingAverage pot_ema = new ExponentialMovingAverage(
+            1 - Math.pow(1 - RobotMap.Arm.pot_ema_alpha, (double) RobotMap.Loop.control_period_us / RobotMap.Loop.period_us));
+
     public JHoldArm() {
         this(-1);
     }
@@ -20,27 +33,37 @@ public class JHoldArm extends Job {
 
     @Override
     protected void init() {
-        start_time = System.currentTimeMillis();
-        degree = ArmRotate.get_instance().get_pot_val();
+        start_time = Clock.get_instance().millis();
+        degree = ArmRotate.get_instance().get_filtered_pot_val();
+        pot_median.reset();
+        pot_ema.reset();
     }
 
     @Override
     protected void update() {
-        if (ArmRotate.get_instance().get_pot_val() > degree) {
+        // Use the filtered reading so noise doesn't flip the motor back and forth
+        pot_median.add(ArmRotate.get_instance().get_pot_val());
+        double pot_val = pot_ema.add(pot_median.get());
+        if (pot_val > degree) {
             ArmRotate.get_instance().arm_analog(-0.5);
-        } else if (ArmRotate.get_instance().get_pot_val() < degree) {
+        } else if (pot_val < degree) {
             ArmRotate.get_instance().arm_analog(0.5);
         } else {
             ArmRotate.get_instance().arm_kill();
         }
     }
 
+    @Override
+    public int sensors() {
+        return SensorFrame.POT;
+    }
+
     @Override
     protected boolean is_finished() {
         if (stall_ms == -1) {
             return false;
         }
-        return System.currentTimeMillis() >= start_time + stall_ms;
+        return Clock.get_instance().millis() >= start_time + stall_ms;
     }
 
     @Override
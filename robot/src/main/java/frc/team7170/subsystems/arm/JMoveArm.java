@@ -1,30 +1,43 @@
 package frc.team7170.subsystems.arm;
 
+import frc.team7170.jobs.ControlLoopJob;
 import frc.team7170.jobs.Job;
 import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
 import frc.team7170.subsystems.drive.Acceleration;
 import frc.team7170.util.CalcUtil;
 
 
-public class JMoveArm extends Job {
+public class JMoveArm extends Job implements ControlLoopJob {
 
     private double degree;
-    private final Acceleration accel;
+    private final double max_out, transition_in, transition_out, stop_accel, start_decel;
+    private final boolean lin_accel, lin_decel;
+    private Acceleration accel;
     private double start_degree;
     private boolean moving_down;
 
     public JMoveArm(double degree, double max_out, double transition_in, double transition_out, double stop_accel,
                     double start_decel, boolean lin_accel, boolean lin_decel) {
         this.degree = CalcUtil.apply_bounds(degree, 0, 300);
-        this.moving_down = degree < ArmRotate.get_instance().get_pot_val();
-        this.accel = new Acceleration(max_out, transition_in, transition_out, stop_accel, start_decel, lin_accel,
-                lin_decel, moving_down);
+        this.max_out = max_out;
+        this.transition_in = transition_in;
+        this.transition_out = transition_out;
+        this.stop_accel = stop_accel;
+        this.start_decel = start_decel;
+        this.lin_accel = lin_accel;
+        this.lin_decel = lin_decel;
         requires(ArmRotate.get_instance());
     }
 
     @Override
     protected void init() {
+        // The direction is only known once the job starts; the arm may have moved since construction (e.g. when this
+        // job is part of a SequentialJob).
         start_degree = ArmRotate.get_instance().get_pot_val();
+        moving_down = degree < start_degree;
+        accel = new Acceleration(max_out, transition_in, transition_out, stop_accel, start_decel, lin_accel,
+                lin_decel, moving_down);
     }
 
     @Override
@@ -33,6 +46,11 @@ public class JMoveArm extends Job {
         ArmRotate.get_instance().arm_analog(accel.get(Math.abs(start_degree - curr_angle)/Math.abs(start_degree - degree)));
     }
 
+    @Override
+    public int sensors() {
+        return SensorFrame.POT;
+    }
+
     @Override
     protected boolean is_finished() {
         return CalcUtil.in_threshold(ArmRotate.get_instance().get_pot_val(), degree, RobotMap.Arm.move_arm_pot_tolerance) ||
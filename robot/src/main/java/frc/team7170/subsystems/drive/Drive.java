@@ -1,11 +1,7 @@
 package frc.team7170.subsystems.drive;
 
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
 import edu.wpi.first.networktables.EntryNotification;
-import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.RpcAnswer;
-import edu.wpi.first.wpilibj.*;
-import edu.wpi.first.wpilibj.drive.DifferentialDrive;
 import frc.team7170.comm.*;
 import frc.team7170.control.Action;
 import frc.team7170.control.Control;
@@ -13,7 +9,9 @@ import frc.team7170.control.HIDAxisAccessor;
 import frc.team7170.control.HIDButtonAccessor;
 import frc.team7170.jobs.Dispatcher;
 import frc.team7170.jobs.Module;
+import frc.team7170.robot.Hardware;
 import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
 import frc.team7170.util.CalcUtil;
 
 import java.util.logging.Logger;
@@ -42,28 +40,22 @@ public class Drive extends Module implements Communicator {
         Knowing that [ 1p = 1 degree of rotation ] and [ arc length = angle(radians) * radius ]...
         d = pi*p*r/180
          */
-        left_enc.setDistancePerPulse(Math.PI * RobotMap.RobotDims.wheel_radius / 180);
-        right_enc.setDistancePerPulse(Math.PI * RobotMap.RobotDims.wheel_radius / 180);
+        left_enc.set_distance_per_pulse(Math.PI * RobotMap.RobotDims.wheel_radius / 180);
+        right_enc.set_distance_per_pulse(Math.PI * RobotMap.RobotDims.wheel_radius / 180);
 
         Dispatcher.get_instance().register_module(this);
         register_comm();
     }
 
-    private WPI_TalonSRX front_left_motor = new WPI_TalonSRX(RobotMap.CAN.front_left_motor);
-    private WPI_TalonSRX front_right_motor = new WPI_TalonSRX(RobotMap.CAN.front_right_motor);
-    private WPI_TalonSRX back_left_motor = new WPI_TalonSRX(RobotMap.CAN.back_left_motor);
-    private WPI_TalonSRX back_right_motor = new WPI_TalonSRX(RobotMap.CAN.back_right_motor);
+    private Hardware.TankDrive drive = Hardware.get_instance().tank_drive(
+            RobotMap.CAN.front_left_motor, RobotMap.CAN.back_left_motor,
+            RobotMap.CAN.front_right_motor, RobotMap.CAN.back_right_motor);
 
-    private SpeedControllerGroup left_motors = new SpeedControllerGroup(front_left_motor, back_left_motor);
-    private SpeedControllerGroup right_motors = new SpeedControllerGroup(front_right_motor, back_right_motor);
+    private Hardware.Encoder left_enc = Hardware.get_instance().encoder(RobotMap.DIO.encoder_left_A, RobotMap.DIO.encoder_left_B);
+    private Hardware.Encoder right_enc = Hardware.get_instance().encoder(RobotMap.DIO.encoder_right_A, RobotMap.DIO.encoder_right_B);
 
-    private DifferentialDrive drive = new DifferentialDrive(left_motors, right_motors);
-
-    private Encoder left_enc = new Encoder(RobotMap.DIO.encoder_left_A, RobotMap.DIO.encoder_left_B);
-    private Encoder right_enc = new Encoder(RobotMap.DIO.encoder_right_A, RobotMap.DIO.encoder_right_B);
-
-    private BuiltInAccelerometer accelerometer = new BuiltInAccelerometer();
-    private ADXRS450_Gyro gyro = new ADXRS450_Gyro();
+    private Hardware.Accelerometer accelerometer = Hardware.get_instance().accelerometer();
+    private Hardware.Gyro gyro = Hardware.get_instance().gyro();
 
     // These hold the L and R speeds actually sent to the speed controllers
     private double rob_L = 0, rob_R = 0;
@@ -117,7 +109,7 @@ public class Drive extends Module implements Communicator {
 
     /**
      * Set the motors using an arcade joystick style. Note that this is literally a copy-paste of the arcade algorithm
-     * used in {@link DifferentialDrive#arcadeDrive(double, double, boolean)} so that we can keep all interactions with
+     * used in {@link edu.wpi.first.wpilibj.drive.DifferentialDrive#arcadeDrive(double, double, boolean)} so that we can keep all interactions with
      * the motors in a consistent tank-drive system while still offering the ability to control the robot via arcade
      * drive.
      * @param joy_Y Joystick Y axis.
@@ -181,14 +173,14 @@ public class Drive extends Module implements Communicator {
             rob_L = left;
             rob_R = right;
         }
-        drive.tankDrive(rob_L, rob_R, square);
+        drive.tank(rob_L, rob_R, square);
     }
 
     /**
      * Stop the motors.
      */
     public void brake() {
-        drive.stopMotor();
+        drive.stop();
     }
 
     /**
@@ -226,6 +218,7 @@ public class Drive extends Module implements Communicator {
         LOGGER.fine("Resetting encoders.");
         left_enc.reset();
         right_enc.reset();
+        SensorFrame.sample();  // The current frame still has the old distances
     }
 
     /**
@@ -234,25 +227,26 @@ public class Drive extends Module implements Communicator {
     public void reset_gyro() {
         LOGGER.fine("Zeroing gyro.");
         gyro.reset();
+        SensorFrame.sample();  // The current frame still has the old angle
     }
 
     public double get_gyro() {
-        return gyro.getAngle();
+        return SensorFrame.get_current().gyro;
     }
 
 
     // Accelerometer accessors
 
     public double get_accel_X() {
-        return 9.80*accelerometer.getX();  // Convert to m/s^2
+        return SensorFrame.get_current().accel_X;
     }
 
     public double get_accel_Y() {
-        return 9.80*accelerometer.getY();  // Convert to m/s^2
+        return SensorFrame.get_current().accel_Y;
     }
 
     public double get_accel_Z() {
-        return 9.80*accelerometer.getZ();  // Convert to m/s^2
+        return SensorFrame.get_current().accel_Z;
     }
 
 
@@ -263,19 +257,19 @@ public class Drive extends Module implements Communicator {
     }
 
     public double get_Lenc_dist() {
-        return left_enc.getDistance();
+        return SensorFrame.get_current().Lenc_dist;
     }
 
     public double get_Lenc_rate() {
-        return left_enc.getRate();
+        return SensorFrame.get_current().Lenc_rate;
     }
 
     public boolean get_Lenc_dir() {
-        return left_enc.getDirection();
+        return left_enc.get_direction();
     }
 
     public boolean get_Lenc_stopped() {
-        return left_enc.getStopped();
+        return left_enc.get_stopped();
     }
 
     public int get_Renc() {
@@ -283,19 +277,54 @@ public class Drive extends Module implements Communicator {
     }
 
     public double get_Renc_dist() {
-        return right_enc.getDistance();
+        return SensorFrame.get_current().Renc_dist;
     }
 
     public double get_Renc_rate() {
-        return right_enc.getRate();
+        return SensorFrame.get_current().Renc_rate;
     }
 
     public boolean get_Renc_dir() {
-        return right_enc.getDirection();
+        return right_enc.get_direction();
     }
 
     public boolean get_Renc_stopped() {
-        return right_enc.getStopped();
+        return right_enc.get_stopped();
+    }
+
+
+    // Direct hardware reads; only SensorFrame should call these, everything else should use the getters above
+
+    public double read_gyro() {
+        return gyro.get_angle();
+    }
+
+    public double read_accel_X() {
+        return 9.80*accelerometer.get_X();  // Convert to m/s^2
+    }
+
+    public double read_accel_Y() {
+        return 9.80*accelerometer.get_Y();  // Convert to m/s^2
+    }
+
+    public double read_accel_Z() {
+        return 9.80*accelerometer.get_Z();  // Convert to m/s^2
+    }
+
+    public double read_Lenc_dist() {
+        return left_enc.get_distance();
+    }
+
+    public double read_Lenc_rate() {
+        return left_enc.get_rate();
+    }
+
+    public double read_Renc_dist() {
+        return right_enc.get_distance();
+    }
+
+    public double read_Renc_rate() {
+        return right_enc.get_rate();
     }
 
 
@@ -350,124 +379,34 @@ public class Drive extends Module implements Communicator {
 
     // TODO: Accessors for CAN data on motors, ex: current output
 
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.STATIC, value = {
-            "O_TURN_ANGLE_TOLERANCE_MS",
-            "O_STRAIGHT_DISTANCE_TOLERANCE_MS",
-            "O_CAN_ID_FRONT_LEFT_MOTOR_NS",
-            "O_CAN_ID_FRONT_RIGHT_MOTOR_NS",
-            "O_CAN_ID_BACK_LEFT_MOTOR_NS",
-            "O_CAN_ID_BACK_RIGHT_MOTOR_NS",
-            "O_DIO_ENCODER_LEFT_A_NS",
-            "O_DIO_ENCODER_LEFT_B_NS",
-            "O_DIO_ENCODER_RIGHT_A_NS",
-            "O_DIO_ENCODER_RIGHT_B_NS",
-            "O_DRIVE_SMOOTH_LOGIC_THRESHOLD_LEFT_MS",
-            "O_DRIVE_SMOOTH_LOGIC_THRESHOLD_RIGHT_MS",
-            "O_DRIVE_SMOOTH_TOLERANCE_LEFT_MS",
-            "O_DRIVE_SMOOTH_TOLERANCE_RIGHT_MS",
-            "O_DRIVE_SMOOTH_JUMP_LEFT_MS",
-            "O_DRIVE_SMOOTH_JUMP_RIGHT_MS"
-    })
-    public void transmitter_static(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_TURN_ANGLE_TOLERANCE_MS":
-                entry.setDouble(RobotMap.Maneuvers.turn_angle_tolerance);
-                break;
-            case "O_STRAIGHT_DISTANCE_TOLERANCE_MS":
-                entry.setDouble(RobotMap.Maneuvers.straight_distance_tolerance);
-                break;
-            case "O_CAN_ID_FRONT_LEFT_MOTOR_NS":
-                entry.setDouble(RobotMap.CAN.front_left_motor);
-                break;
-            case "O_CAN_ID_FRONT_RIGHT_MOTOR_NS":
-                entry.setDouble(RobotMap.CAN.front_right_motor);
-                break;
-            case "O_CAN_ID_BACK_LEFT_MOTOR_NS":
-                entry.setDouble(RobotMap.CAN.back_left_motor);
-                break;
-            case "O_CAN_ID_BACK_RIGHT_MOTOR_NS":
-                entry.setDouble(RobotMap.CAN.back_right_motor);
-                break;
-            case "O_DIO_ENCODER_LEFT_A_NS":
-                entry.setDouble(RobotMap.DIO.encoder_left_A);
-                break;
-            case "O_DIO_ENCODER_LEFT_B_NS":
-                entry.setDouble(RobotMap.DIO.encoder_left_B);
-                break;
-            case "O_DIO_ENCODER_RIGHT_A_NS":
-                entry.setDouble(RobotMap.DIO.encoder_right_A);
-                break;
-            case "O_DIO_ENCODER_RIGHT_B_NS":
-                entry.setDouble(RobotMap.DIO.encoder_right_B);
-                break;
-            case "O_DRIVE_SMOOTH_LOGIC_THRESHOLD_LEFT_MS":
-                entry.setDouble(RobotMap.DriveSmooth.logic_threshold_L);
-                break;
-            case "O_DRIVE_SMOOTH_LOGIC_THRESHOLD_RIGHT_MS":
-                entry.setDouble(RobotMap.DriveSmooth.logic_threshold_R);
-                break;
-            case "O_DRIVE_SMOOTH_TOLERANCE_LEFT_MS":
-                entry.setDouble(RobotMap.DriveSmooth.tolerance_L);
-                break;
-            case "O_DRIVE_SMOOTH_TOLERANCE_RIGHT_MS":
-                entry.setDouble(RobotMap.DriveSmooth.tolerance_R);
-                break;
-            case "O_DRIVE_SMOOTH_JUMP_LEFT_MS":
-                entry.setDouble(RobotMap.DriveSmooth.jump_L);
-                break;
-            case "O_DRIVE_SMOOTH_JUMP_RIGHT_MS":
-                entry.setDouble(RobotMap.DriveSmooth.jump_R);
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.SLOW, value = {
-            "O_DRIVE_ENABLED_RT"
-    })
-    public void transmitter_slow(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_DRIVE_ENABLED_RT":
-                entry.setBoolean(get_enabled());
-                break;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @Transmitter(poll_rate = TransmitFrequency.FAST, value = {
-            "O_DRIVE_LEFT_NT",
-            "O_DRIVE_RIGHT_NT",
-            "O_ACCEL_X_NT",
-            "O_ACCEL_Y_NT",
-            "O_ACCEL_Z_NT",
-            "O_ENCODER_LEFT_NT",
-            "O_ENCODER_RIGHT_NT"
-    })
-    public void transmitter_fast(NetworkTableEntry entry) {
-        switch (entry.getName()) {
-            case "O_DRIVE_LEFT_NT":
-                entry.setDouble(rob_L);
-                break;
-            case "O_DRIVE_RIGHT_NT":
-                entry.setDouble(rob_R);
-                break;
-            case "O_ACCEL_X_NT":
-                entry.setDouble(get_accel_X());
-                break;
-            case "O_ACCEL_Y_NT":
-                entry.setDouble(get_accel_Y());
-                break;
-            case "O_ACCEL_Z_NT":
-                entry.setDouble(get_accel_Z());
-                break;
-            case "O_ENCODER_LEFT_NT":
-                entry.setDouble(get_Lenc());
-                break;
-            case "O_ENCODER_RIGHT_NT":
-                entry.setDouble(get_Renc());
-                break;
-        }
+    @Override
+    public void register_telemetry(Communication comm) {
+        comm.publish_double("O_TURN_ANGLE_TOLERANCE_MS", TransmitFrequency.STATIC, () -> RobotMap.Maneuvers.turn_angle_tolerance);
+        comm.publish_double("O_STRAIGHT_DISTANCE_TOLERANCE_MS", TransmitFrequency.STATIC, () -> RobotMap.Maneuvers.straight_distance_tolerance);
+        comm.publish_double("O_CAN_ID_FRONT_LEFT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.CAN.front_left_motor);
+        comm.publish_double("O_CAN_ID_FRONT_RIGHT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.CAN.front_right_motor);
+        comm.publish_double("O_CAN_ID_BACK_LEFT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.CAN.back_left_motor);
+        comm.publish_double("O_CAN_ID_BACK_RIGHT_MOTOR_NS", TransmitFrequency.STATIC, () -> RobotMap.CAN.back_right_motor);
+        comm.publish_double("O_DIO_ENCODER_LEFT_A_NS", TransmitFrequency.STATIC, () -> RobotMap.DIO.encoder_left_A);
+        comm.publish_double("O_DIO_ENCODER_LEFT_B_NS", TransmitFrequency.STATIC, () -> RobotMap.DIO.encoder_left_B);
+        comm.publish_double("O_DIO_ENCODER_RIGHT_A_NS", TransmitFrequency.STATIC, () -> RobotMap.DIO.encoder_right_A);
+        comm.publish_double("O_DIO_ENCODER_RIGHT_B_NS", TransmitFrequency.STATIC, () -> RobotMap.DIO.encoder_right_B);
+        comm.publish_double("O_DRIVE_SMOOTH_LOGIC_THRESHOLD_LEFT_MS", TransmitFrequency.STATIC, () -> RobotMap.DriveSmooth.logic_threshold_L);
+        comm.publish_double("O_DRIVE_SMOOTH_LOGIC_THRESHOLD_RIGHT_MS", TransmitFrequency.STATIC, () -> RobotMap.DriveSmooth.logic_threshold_R);
+        comm.publish_double("O_DRIVE_SMOOTH_TOLERANCE_LEFT_MS", TransmitFrequency.STATIC, () -> RobotMap.DriveSmooth.tolerance_L);
+        comm.publish_double("O_DRIVE_SMOOTH_TOLERANCE_RIGHT_MS", TransmitFrequency.STATIC, () -> RobotMap.DriveSmooth.tolerance_R);
+        comm.publish_double("O_DRIVE_SMOOTH_JUMP_LEFT_MS", TransmitFrequency.STATIC, () -> RobotMap.DriveSmooth.jump_L);
+        comm.publish_double("O_DRIVE_SMOOTH_JUMP_RIGHT_MS", TransmitFrequency.STATIC, () -> RobotMap.DriveSmooth.jump_R);
+
+        comm.publish_boolean("O_DRIVE_ENABLED_RT", TransmitFrequency.SLOW, this::get_enabled);
+
+        comm.publish_double("O_DRIVE_LEFT_NT", TransmitFrequency.FAST, 0.01, () -> rob_L);
+        comm.publish_double("O_DRIVE_RIGHT_NT", TransmitFrequency.FAST, 0.01, () -> rob_R);
+        comm.publish_double("O_ACCEL_X_NT", TransmitFrequency.FAST, 0.01, this::get_accel_X);
+        comm.publish_double("O_ACCEL_Y_NT", TransmitFrequency.FAST, 0.01, this::get_accel_Y);
+        comm.publish_double("O_ACCEL_Z_NT", TransmitFrequency.FAST, 0.01, this::get_accel_Z);
+        comm.publish_double("O_ENCODER_LEFT_NT", TransmitFrequency.FAST, 0.01, this::get_Lenc);
+        comm.publish_double("O_ENCODER_RIGHT_NT", TransmitFrequency.FAST, 0.01, this::get_Renc);
     }
 
     @SuppressWarnings("unused")
@@ -1,14 +1,16 @@
 package frc.team7170.subsystems.drive;
 
+import frc.team7170.jobs.ControlLoopJob;
 import frc.team7170.jobs.Job;
 import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
 import frc.team7170.util.CalcUtil;
 
 
 /**
  * Job for driving in a straight line for a certain distance (without correction, so it may not actually be straight.)
  */
-public class JStraight extends Job {
+public class JStraight extends Job implements ControlLoopJob {
 
     private final double distance;
     private final Acceleration accel;
@@ -37,6 +39,11 @@ public class JStraight extends Job {
                 drive.get_Z(), false, false);
     }
 
+    @Override
+    public int sensors() {
+        return SensorFrame.DRIVE;
+    }
+
     @Override
     protected boolean is_finished() {
         return CalcUtil.in_threshold((Math.abs(drive.get_Lenc_dist()) + Math.abs(drive.get_Renc_dist()))/2,
@@ -1,14 +1,16 @@
 package frc.team7170.subsystems.drive;
 
+import frc.team7170.jobs.ControlLoopJob;
 import frc.team7170.jobs.Job;
 import frc.team7170.robot.RobotMap;
+import frc.team7170.robot.SensorFrame;
 import frc.team7170.util.CalcUtil;
 
 
 /**
  * Job for turning on the spot for a certain amount of degrees.
  */
-public class JTurn extends Job {
+public class JTurn extends Job implements ControlLoopJob {
 
     private final double degrees;
     private final double predicted_final_enc;
@@ -42,6 +44,11 @@ public class JTurn extends Job {
         //        false, false);
     }
 
+    @Override
+    public int sensors() {
+        return SensorFrame.DRIVE;
+    }
+
     @Override
     protected boolean is_finished() {
         //return CalcUtil.in_threshold((Math.abs(drive.get_Lenc()) + Math.abs(drive.get_Renc()))/2,
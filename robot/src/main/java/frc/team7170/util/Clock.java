@@ -0,0 +1,62 @@
+package frc.team7170.util;
+
+import edu.wpi.first.wpilibj.RobotController;
+
+
+/**
+ * Monotonic time source used by every time-based {@link frc.team7170.jobs.Job} and {@link TimedTask}. Code should call
+ * Clock.get_instance() rather than System.currentTimeMillis(), which is wall-clock time (it can jump) and only has
+ * millisecond resolution.
+ *
+ * The default clock is backed by System.nanoTime(). Use set_instance() to swap in the FPGA clock on the robot or a
+ * {@link VirtualClock} to drive time by hand (e.g. to run an auto sequence faster than real time).
+ */
+public abstract class Clock {
+
+    private static volatile Clock instance = new SystemClock();
+
+    public static Clock get_instance() {
+        return instance;
+    }
+
+    /**
+     * Replace the clock used by the whole robot. This should be done before any timed jobs or tasks are started, as
+     * times from different clocks cannot be compared.
+     * @param clock The new clock.
+     */
+    public static void set_instance(Clock clock) {
+        instance = clock;
+    }
+
+    /**
+     * @return The current time in nanoseconds. Only differences between times are meaningful.
+     */
+    public abstract long nanos();
+
+    /**
+     * @return The current time in milliseconds. Only differences between times are meaningful.
+     */
+    public final long millis() {
+        return nanos() / 1_000_000;
+    }
+
+    /**
+     * Clock backed by System.nanoTime().
+     */
+    public static class SystemClock extends Clock {
+        @Override
+        public long nanos() {
+            return System.nanoTime();
+        }
+    }
+
+    /**
+     * Clock backed by the FPGA timestamp (microsecond resolution). Only available on the robot.
+     */
+    public static class FPGAClock extends Clock {
+        @Override
+        public long nanos() {
+            return RobotController.getFPGATime() * 1000;
+        }
+    }
+}
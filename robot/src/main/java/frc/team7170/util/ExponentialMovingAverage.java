@@ -0,0 +1,49 @@
+package frc.team7170.util;
+
+
+/**
+ * Exponential moving average (first order low-pass filter) of a signal: each sample moves the average alpha of the
+ * way towards itself. The first sample after construction or a reset initializes the average.
+ */
+public class ExponentialMovingAverage {
+
+    private final double alpha;
+    private double value = 0;
+    private boolean initialized = false;
+
+    /**
+     * @param alpha The smoothing factor in (0, 1]; smaller is smoother but lags more. 1 disables smoothing.
+     */
+    public ExponentialMovingAverage(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new RuntimeException("ExponentialMovingAverage alpha must be in (0, 1] (got " + alpha + ")!");
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * @param val The sample.
+     * @return The new average.
+     */
+    public double add(double val) {
+        if (initialized) {
+            value += alpha * (val - value);
+        } else {
+            value = val;
+            initialized = true;
+        }
+        return value;
+    }
+
+    /**
+     * @return The current average, or 0 if no samples have been added.
+     */
+    public double get() {
+        return value;
+    }
+
+    public void reset() {
+        value = 0;
+        initialized = false;
+    }
+}
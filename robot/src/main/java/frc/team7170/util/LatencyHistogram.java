@@ -0,0 +1,124 @@
+package frc.team7170.util;
+
+
+/**
+ * Fixed-bucket, log-scale histogram of durations in nanoseconds. Bucket 0 holds samples of zero (or less) and bucket
+ * i > 0 holds samples in [2^(i-1), 2^i) nanoseconds, so percentiles are accurate to within a factor of two, which is
+ * plenty to tell what is eating the loop budget. All storage is allocated on construction and recording a sample
+ * never allocates.
+ *
+ * Samples should only be recorded from one thread. Reading from another thread is allowed but may give slightly
+ * inconsistent results.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Number of buckets. The last bucket also catches everything above 2^(BUCKETS-2) ns (about 4.6 minutes).
+     */
+    public static final int BUCKETS = 40;
+
+    private final String name;
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long max = 0;
+
+    /**
+     * @param name The name of whatever is being timed; used in {@link Snapshot}s.
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a single sample.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        int bucket = nanos <= 0 ? 0 : Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos));
+        counts[bucket]++;
+        count++;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * @param p The percentile to get as a decimal in [0, 1] (e.g. 0.99 for the 99th percentile).
+     * @return The upper bound in nanoseconds of the bucket containing the given percentile (capped at the maximum
+     * recorded sample), or 0 if no samples have been recorded.
+     */
+    public long get_percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(CalcUtil.apply_bounds(p, 0, 1) * count);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target && cumulative > 0) {
+                return i == 0 ? 0 : Math.min((1L << i) - 1, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The largest sample recorded in nanoseconds.
+     */
+    public long get_max() {
+        return max;
+    }
+
+    /**
+     * @return The number of samples recorded.
+     */
+    public long get_count() {
+        return count;
+    }
+
+    public String get_name() {
+        return name;
+    }
+
+    /**
+     * Discard all recorded samples.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        max = 0;
+    }
+
+    /**
+     * @return An immutable summary of this histogram as it is right now.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(name, count, get_percentile(0.5), get_percentile(0.99), max);
+    }
+
+    /**
+     * Immutable summary of a {@link LatencyHistogram}. All times are in nanoseconds.
+     */
+    public static class Snapshot {
+        public final String name;
+        public final long count;
+        public final long p50;
+        public final long p99;
+        public final long max;
+
+        Snapshot(String name, long count, long p50, long p99, long max) {
+            this.name = name;
+            this.count = count;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": n=" + count + " p50=" + p50 / 1000 + "us p99=" + p99 / 1000 + "us max=" + max / 1000 + "us";
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package frc.team7170.util;
+
+
+/**
+ * Mean of the last n samples of a signal, kept in a primitive ring buffer. Adding a sample and getting the mean are both
+ * O(1) and never allocate.
+ */
+public class RunningMean {
+
+    private final double[] window;
+    private int head = 0;  // Index the next sample is written to
+    private int count = 0;
+    private double sum = 0;
+    private int adds_since_resum = 0;
+
+    /**
+     * @param size The number of samples to average over.
+     */
+    public RunningMean(int size) {
+        if (size < 1) {
+            throw new RuntimeException("RunningMean window size must be at least 1 (got " + size + ")!");
+        }
+        window = new double[size];
+    }
+
+    /**
+     * Add a sample, evicting the oldest one if the window is full.
+     * @param val The sample.
+     */
+    public void add(double val) {
+        if (count == window.length) {
+            sum -= window[head];
+        } else {
+            count++;
+        }
+        window[head] = val;
+        sum += val;
+        head = (head + 1) % window.length;
+        // Floating point error accumulates in the running sum, so recompute it from scratch every so often
+        if (++adds_since_resum >= 64 * window.length) {
+            sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += window[i];
+            }
+            adds_since_resum = 0;
+        }
+    }
+
+    /**
+     * @return The mean of the samples in the window, or 0 if there are none.
+     */
+    public double get() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * @return The number of samples in the window.
+     */
+    public int get_count() {
+        return count;
+    }
+
+    /**
+     * @return Whether the window is full.
+     */
+    public boolean is_full() {
+        return count == window.length;
+    }
+
+    public void reset() {
+        head = 0;
+        count = 0;
+        sum = 0;
+        adds_since_resum = 0;
+    }
+}
@@ -0,0 +1,75 @@
+package frc.team7170.util;
+
+import java.util.Arrays;
+
+
+/**
+ * Median of the last n samples of a signal; good for rejecting single-sample spikes. The samples are kept both in a
+ * primitive ring buffer (arrival order) and in a sorted array, so adding a sample is O(n) (a binary search and an
+ * array shift, which is cheap for the small windows this is meant for), getting the median is O(1), and neither
+ * allocates.
+ */
+public class RunningMedian {
+
+    private final double[] window;  // Samples in arrival order
+    private final double[] sorted;  // The first count entries are the samples in the window, sorted
+    private int head = 0;  // Index the next sample is written to
+    private int count = 0;
+
+    /**
+     * @param size The number of samples to take the median of.
+     */
+    public RunningMedian(int size) {
+        if (size < 1) {
+            throw new RuntimeException("RunningMedian window size must be at least 1 (got " + size + ")!");
+        }
+        window = new double[size];
+        sorted = new double[size];
+    }
+
+    /**
+     * Add a sample, evicting the oldest one if the window is full.
+     * @param val The sample.
+     */
+    public void add(double val) {
+        if (count == window.length) {
+            // Remove the evicted sample from the sorted array
+            int i = Arrays.binarySearch(sorted, 0, count, window[head]);
+            System.arraycopy(sorted, i + 1, sorted, i, count - i - 1);
+            count--;
+        }
+        int i = Arrays.binarySearch(sorted, 0, count, val);
+        if (i < 0) {
+            i = -i - 1;  // Insertion point
+        }
+        System.arraycopy(sorted, i, sorted, i + 1, count - i);
+        sorted[i] = val;
+        count++;
+        window[head] = val;
+        head = (head + 1) % window.length;
+    }
+
+    /**
+     * @return The median of the samples in the window (the mean of the middle two if there is an even number of them),
+     * or 0 if there are none.
+     */
+    public double get() {
+        if (count == 0) {
+            return 0;
+        }
+        int mid = count / 2;
+        return count % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    /**
+     * @return The number of samples in the window.
+     */
+    public int get_count() {
+        return count;
+    }
+
+    public void reset() {
+        head = 0;
+        count = 0;
+    }
+}
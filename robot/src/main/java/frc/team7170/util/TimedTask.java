@@ -5,6 +5,7 @@ package frc.team7170.util;
  * Class to call a function after n milliseconds. Calls to run() must be often (i.e. put in loop)
  * to ensure that the timing is close to exact--although, be warned, it never will be.
  * Consider other timing methods in the java libraries for more exactly timing.
+ * Time is read from {@link Clock}.
  */
 public class TimedTask implements Runnable {
 
@@ -39,7 +40,7 @@ public class TimedTask implements Runnable {
     public void start() {
         func.run();
         running = true;
-        time = System.currentTimeMillis();
+        time = Clock.get_instance().millis();
     }
 
     /**
@@ -55,9 +56,9 @@ public class TimedTask implements Runnable {
      * Call this regularly in a loop.
      */
     public void run() {
-        if (this.running && System.currentTimeMillis() >= time + delay) {
+        if (this.running && Clock.get_instance().millis() >= time + delay) {
             func.run();
-            time = System.currentTimeMillis();
+            time = Clock.get_instance().millis();
         }
     }
 }
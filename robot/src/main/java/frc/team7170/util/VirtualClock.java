@@ -0,0 +1,46 @@
+package frc.team7170.util;
+
+
+/**
+ * {@link Clock} that only moves when told to. Install it with Clock.set_instance() to step time-based jobs
+ * deterministically, and as fast as the code can run, in tests and simulation.
+ */
+public class VirtualClock extends Clock {
+
+    private volatile long now;
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    /**
+     * @param start_nanos The initial time in nanoseconds.
+     */
+    public VirtualClock(long start_nanos) {
+        now = start_nanos;
+    }
+
+    @Override
+    public long nanos() {
+        return now;
+    }
+
+    /**
+     * Move the clock forward.
+     * @param nanos The number of nanoseconds to advance by; must not be negative as clocks are monotonic.
+     */
+    public synchronized void advance(long nanos) {
+        if (nanos < 0) {
+            throw new RuntimeException("Cannot move a clock backwards (advance by " + nanos + "ns)!");
+        }
+        now += nanos;
+    }
+
+    /**
+     * Move the clock forward.
+     * @param millis The number of milliseconds to advance by.
+     */
+    public void advance_ms(long millis) {
+        advance(millis * 1_000_000);
+    }
+}
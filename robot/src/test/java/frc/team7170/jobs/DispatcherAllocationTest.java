@@ -0,0 +1,116 @@
+package frc.team7170.jobs;
+
+import java.lang.management.ManagementFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+
+/**
+ * Checks that a steady-state {@link Dispatcher#run()} (one where no job starts or finishes) makes no allocations, using
+ * the per-thread allocation counter of HotSpot's ThreadMXBean.
+ *
+ * The test uses a dispatcher and loop monitor of its own rather than the singletons, so nothing registers with
+ * Communication and no other robot thread (e.g. the control thread) runs during the measurement.
+ */
+public class DispatcherAllocationTest {
+
+    private static final int WARMUP_TICKS = 50_000;  // Enough for the JIT to compile run() and everything it calls
+    private static final int MEASURED_TICKS = 10_000;
+
+    private static class TestModule extends Module {
+
+        private final String name;
+        long updates = 0;
+
+        TestModule(Dispatcher dispatcher, String name, int period) {
+            this.name = name;
+            dispatcher.register_module(this);
+            set_update_period(period);
+        }
+
+        @Override
+        protected void update() {
+            updates++;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class JForever extends Job {
+
+        long updates = 0;
+
+        JForever(Module... mods) {
+            requires(mods);
+        }
+
+        @Override
+        protected void update() {
+            updates++;
+        }
+
+        @Override
+        protected boolean is_finished() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "JForever";
+        }
+    }
+
+    private static long allocated_bytes(com.sun.management.ThreadMXBean threads) {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void steady_state_run_does_not_allocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Dispatcher dispatcher = new Dispatcher(new LoopMonitor(20_000));
+        TestModule a = new TestModule(dispatcher, "Alloc A", 1);
+        TestModule b = new TestModule(dispatcher, "Alloc B", 2);
+        TestModule c = new TestModule(dispatcher, "Alloc C", 5);
+        TestModule d = new TestModule(dispatcher, "Alloc D", 1);
+        d.set_enabled(false);  // Disabled modules and the jobs on them are part of the steady state too
+        JForever ab = new JForever(a, b);
+        JForever cd = new JForever(c, d);
+        JForever blocked = new JForever(b);  // Stays queued behind ab
+        dispatcher.add_job(ab);
+        dispatcher.add_job(cd);
+        dispatcher.add_job(blocked);
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            dispatcher.run();
+        }
+        // Any allocation made by the counter itself (which should be none) isn't the dispatcher's
+        allocated_bytes(threads);
+        long first = allocated_bytes(threads);
+        long overhead = allocated_bytes(threads) - first;
+
+        long before = allocated_bytes(threads);
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            dispatcher.run();
+        }
+        long after = allocated_bytes(threads);
+
+        assertEquals("Bytes allocated by " + MEASURED_TICKS + " steady-state ticks", 0, after - before - overhead);
+        // Make sure the ticks actually did something
+        assertEquals(WARMUP_TICKS + MEASURED_TICKS, a.updates);
+        assertEquals((WARMUP_TICKS + MEASURED_TICKS) / 2, b.updates);
+        assertEquals((WARMUP_TICKS + MEASURED_TICKS) / 5, c.updates);
+        assertEquals(0, d.updates);
+        assertEquals(WARMUP_TICKS + MEASURED_TICKS, ab.updates);
+        assertEquals(0, cd.updates);
+        assertEquals(0, blocked.updates);
+    }
+}
@@ -0,0 +1,177 @@
+package frc.team7170.jobs;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Hammers the {@link Dispatcher} inbox with add_job() and cancel_job() calls from several producer threads while the
+ * main thread keeps calling run(), and checks that every job is started and terminated exactly once, and that the jobs
+ * of each producer are started in the order that producer added them. Also checks that the main loop thread bypasses
+ * the inbox when it cancels a job outside of run().
+ */
+public class DispatcherInboxStressTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int JOBS_PER_PRODUCER = 5_000;
+    private static final int CANCEL_EVERY = 3;  // Every n-th job is cancelled right after being added
+    private static final long TIMEOUT_NS = TimeUnit.SECONDS.toNanos(60);
+
+    private static class TestModule extends Module {
+
+        private final String name;
+
+        TestModule(Dispatcher dispatcher, String name) {
+            this.name = name;
+            dispatcher.register_module(this);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Finishes on its own after a few updates. The counters and lists are only touched by the main thread (in run()).
+     */
+    private static class JStress extends Job {
+
+        final int producer;
+        final int seq;
+        int starts = 0;
+        int ends = 0;
+        int interrupts = 0;
+        private int updates = 0;
+        private final ArrayList<JStress> started;
+        private final ArrayList<JStress> terminated;
+
+        JStress(int producer, int seq, Module mod, ArrayList<JStress> started, ArrayList<JStress> terminated) {
+            this.producer = producer;
+            this.seq = seq;
+            this.started = started;
+            this.terminated = terminated;
+            requires(mod);
+            set_interruptable(true);
+        }
+
+        @Override
+        protected void init() {
+            starts++;
+            started.add(this);
+        }
+
+        @Override
+        protected void update() {
+            updates++;
+        }
+
+        @Override
+        protected boolean is_finished() {
+            return updates >= 2;
+        }
+
+        @Override
+        protected void end() {
+            ends++;
+            terminated.add(this);
+        }
+
+        @Override
+        protected void interrupted() {
+            interrupts++;
+            terminated.add(this);
+        }
+
+        @Override
+        public String toString() {
+            return "JStress(" + producer + ", " + seq + ")";
+        }
+    }
+
+    @Test
+    public void concurrent_producers_lose_and_reorder_nothing() throws InterruptedException {
+        Dispatcher dispatcher = new Dispatcher(new LoopMonitor(20_000));  // Not the singleton, as in DispatcherAllocationTest
+        ArrayList<JStress> started = new ArrayList<>();  // In start order; only touched by the main thread
+        ArrayList<JStress> terminated = new ArrayList<>();  // Likewise
+        JStress[][] jobs = new JStress[PRODUCERS][JOBS_PER_PRODUCER];
+        for (int p = 0; p < PRODUCERS; p++) {
+            TestModule mod = new TestModule(dispatcher, "Stress " + p);  // Registered on the main thread, as modules must be
+            for (int i = 0; i < JOBS_PER_PRODUCER; i++) {
+                jobs[p][i] = new JStress(p, i, mod, started, terminated);
+            }
+        }
+
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            JStress[] mine = jobs[p];
+            Thread producer = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < mine.length; i++) {
+                    dispatcher.add_job(mine[i]);
+                    if (i % CANCEL_EVERY == 0) {
+                        // Either cancels the job in the same tick it starts, or is a no-op because it had to queue
+                        dispatcher.cancel_job(mine[i], false);
+                    }
+                    if (i % 64 == 0) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }, "Producer " + p);
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        go.countDown();
+        int total = PRODUCERS * JOBS_PER_PRODUCER;
+        long deadline = System.nanoTime() + TIMEOUT_NS;
+        while (done.getCount() > 0 || terminated.size() < total) {
+            dispatcher.run();
+            assertTrue("Timed out with " + terminated.size() + " of " + total + " jobs terminated",
+                    System.nanoTime() < deadline);
+        }
+
+        assertEquals(total, started.size());
+        int[] next = new int[PRODUCERS];
+        for (JStress job : started) {
+            assertEquals("Start order of producer " + job.producer, next[job.producer]++, job.seq);
+        }
+        for (JStress[] mine : jobs) {
+            for (JStress job : mine) {
+                assertEquals(job + " starts", 1, job.starts);
+                assertEquals(job + " terminations", 1, job.ends + job.interrupts);
+            }
+        }
+    }
+
+    @Test
+    public void main_thread_cancel_is_applied_immediately() {
+        Dispatcher dispatcher = new Dispatcher(new LoopMonitor(20_000));
+        TestModule mod = new TestModule(dispatcher, "Cancel");
+        ArrayList<JStress> started = new ArrayList<>();
+        ArrayList<JStress> terminated = new ArrayList<>();
+        dispatcher.run();  // Makes this thread the main loop thread
+
+        JStress job = new JStress(0, 0, mod, started, terminated);
+        dispatcher.add_job(job);
+        // The add is still in the inbox; it must be applied before the cancel, or the cancel would be lost
+        assertTrue(dispatcher.cancel_job(job, false));
+        assertEquals(1, job.starts);
+        assertEquals(1, job.interrupts);
+        assertEquals(0, dispatcher.get_running_count());
+        assertEquals(0, dispatcher.get_locked_mask());
+        assertFalse(dispatcher.cancel_job(job, false));  // No longer running
+    }
+}